@@ -0,0 +1,112 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ChunkTask.java.
+ * Runs a body once for every chunk index in a range, splitting the range
+ * in half recursively on the common ForkJoinPool. Each chunk is handled by
+ * exactly one task, so bodies may write per-chunk results into disjoint
+ * array slots without synchronization.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+final class ChunkTask extends RecursiveAction {
+
+   private static final long serialVersionUID = 1L;
+
+   /**
+    * Work performed for a single chunk.
+    */
+   interface Body {
+
+      /**
+       * Processes one chunk.
+       *
+       * @param chunk index of the chunk
+       */
+      void run(int chunk);
+   }
+
+   /** work performed per chunk. */
+   private final Body body;
+
+   /** chunk range [from..to) covered by this task. */
+   private final int from;
+   private final int to;
+
+   /**
+    * Creates a task over the chunk indexes [from..to).
+    *
+    * @param body work to perform per chunk
+    * @param from first chunk, inclusive
+    * @param to last chunk, exclusive
+    */
+   private ChunkTask(Body body, int from, int to) {
+      this.body = body;
+      this.from = from;
+      this.to = to;
+   }
+
+   /**
+    * Runs body for every chunk in [0..chunks) and waits for all of them
+    * to finish.
+    *
+    * @param chunks number of chunks
+    * @param body work to perform per chunk
+    */
+   static void forEach(int chunks, Body body) {
+      if (chunks == 1) {
+         body.run(0);
+         return;
+      }
+      ForkJoinPool.commonPool().invoke(new ChunkTask(body, 0, chunks));
+   }
+
+   /**
+    * Returns the number of chunks of the given size needed to cover
+    * length elements.
+    *
+    * @param length number of elements
+    * @param size elements per chunk
+    * @return number of chunks
+    */
+   static int count(int length, int size) {
+      return (int) (((long) length + size - 1) / size);
+   }
+
+   /**
+    * Returns the first element index of a chunk.
+    *
+    * @param chunk index of the chunk
+    * @param size elements per chunk
+    * @return first element index, inclusive
+    */
+   static int start(int chunk, int size) {
+      return (int) ((long) chunk * size);
+   }
+
+   /**
+    * Returns the element index just past the end of a chunk.
+    *
+    * @param chunk index of the chunk
+    * @param size elements per chunk
+    * @param length number of elements
+    * @return last element index, exclusive
+    */
+   static int end(int chunk, int size, int length) {
+      return (int) Math.min(length, ((long) chunk + 1) * size);
+   }
+
+   @Override
+   protected void compute() {
+      if (to - from == 1) {
+         body.run(from);
+         return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new ChunkTask(body, from, mid), new ChunkTask(body, mid, to));
+   }
+
+}
@@ -0,0 +1,368 @@
+import java.util.Arrays;
+
+/**
+ * IntQuantileSketch.java.
+ * A mergeable KLL-style quantile sketch for approximate selection over
+ * very large int data sets. Values are kept in a stack of compactors:
+ * level h holds samples of weight 2^h, and when the sketch outgrows its
+ * capacity the lowest full level is sorted and every other sample (from a
+ * random offset) is promoted to the next level. Memory is O(k) no matter
+ * how many values are added, and rank estimates typically land within a
+ * small multiple of n / k of the true rank (under 2% of n at DEFAULT_K).
+ *
+ * Unlike Selector.kmin and kmax, which count distinct values, approximate
+ * selection here counts duplicates: kmin(k) estimates the kth smallest of
+ * all the values added. Sketches built over separate shards can be
+ * combined with merge.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+public final class IntQuantileSketch {
+
+   /** Default accuracy parameter. */
+   public static final int DEFAULT_K = 200;
+
+   /** Smallest capacity of any level. */
+   private static final int MIN_WIDTH = 8;
+
+   /** Ratio between the capacities of adjacent levels. */
+   private static final double SHRINK = 2.0 / 3.0;
+
+   /** accuracy parameter: capacity of the top level. */
+   private final int k;
+
+   /** samples at each level and the number in use. */
+   private int[][] levels;
+   private int[] sizes;
+
+   /** number of levels in use. */
+   private int height;
+
+   /** number of values added, and their exact extremes. */
+   private long count;
+   private int min;
+   private int max;
+
+   /** state of the xorshift generator that picks compaction offsets. */
+   private int seed;
+
+   /**
+    * Creates a sketch with accuracy parameter DEFAULT_K.
+    *
+    */
+   public IntQuantileSketch() {
+      this(DEFAULT_K);
+   }
+
+   /**
+    * Creates a sketch with accuracy parameter k. Larger k gives smaller
+    * rank error at the cost of more memory. This constructor throws
+    * IllegalArgumentException if k < MIN_WIDTH.
+    *
+    * @param k accuracy parameter
+    */
+   public IntQuantileSketch(int k) {
+      if (k < MIN_WIDTH) {
+         throw new IllegalArgumentException();
+      }
+      this.k = k;
+      levels = new int[][] {new int[k]};
+      sizes = new int[1];
+      height = 1;
+      min = Integer.MAX_VALUE;
+      max = Integer.MIN_VALUE;
+      seed = 0x2545F491;
+   }
+
+   /**
+    * Adds the value v.
+    *
+    * @param v value to add
+    */
+   public void update(int v) {
+      count++;
+      min = Math.min(min, v);
+      max = Math.max(max, v);
+      append(0, v);
+      if (sizes[0] >= capacity(0)) {
+         compress();
+      }
+   }
+
+   /**
+    * Adds every value in a. The array a is neither copied nor changed.
+    * This method throws IllegalArgumentException if a is null.
+    *
+    * @param a values to add
+    */
+   public void update(int[] a) {
+      if (a == null) {
+         throw new IllegalArgumentException();
+      }
+      for (int i = 0; i < a.length; i++) {
+         update(a[i]);
+      }
+   }
+
+   /**
+    * Adds the contents of other to this sketch, as if every value added
+    * to other had been added to this sketch. The sketch other is not
+    * changed. This method throws IllegalArgumentException if other is
+    * null.
+    *
+    * @param other sketch to merge into this one
+    */
+   public void merge(IntQuantileSketch other) {
+      if (other == null) {
+         throw new IllegalArgumentException();
+      }
+      if (other.count == 0) {
+         return;
+      }
+      int[][] theirs = new int[other.height][];
+      int[] theirSizes = Arrays.copyOf(other.sizes, other.height);
+      for (int h = 0; h < other.height; h++) {
+         theirs[h] = Arrays.copyOf(other.levels[h], theirSizes[h]);
+      }
+      while (height < theirs.length) {
+         addLevel();
+      }
+      for (int h = 0; h < theirs.length; h++) {
+         for (int i = 0; i < theirSizes[h]; i++) {
+            append(h, theirs[h][i]);
+         }
+      }
+      count += other.count;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+      compress();
+   }
+
+   /**
+    * Returns the number of values added, including duplicates.
+    *
+    * @return number of values added
+    */
+   public long size() {
+      return count;
+   }
+
+   /**
+    * Returns the exact minimum value added. This method throws
+    * IllegalArgumentException if the sketch is empty.
+    *
+    * @return The minimum value
+    */
+   public int min() {
+      checkEmpty();
+      return min;
+   }
+
+   /**
+    * Returns the exact maximum value added. This method throws
+    * IllegalArgumentException if the sketch is empty.
+    *
+    * @return The maximum value
+    */
+   public int max() {
+      checkEmpty();
+      return max;
+   }
+
+   /**
+    * Returns an estimate of the number of values added that are less than
+    * or equal to v.
+    *
+    * @param v number
+    * @return approximate rank of v
+    */
+   public long rank(int v) {
+      if (count == 0 || v < min) {
+         return 0;
+      }
+      if (v >= max) {
+         return count;
+      }
+      long rank = 0;
+      for (int h = 0; h < height; h++) {
+         int[] level = levels[h];
+         long below = 0;
+         for (int i = 0; i < sizes[h]; i++) {
+            below += (level[i] <= v) ? 1 : 0;
+         }
+         rank += below << h;
+      }
+      return Math.min(rank, count);
+   }
+
+   /**
+    * Returns an estimate of the number of values added that are in the
+    * range [low..high].
+    *
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return approximate number of values in [low..high]
+    */
+   public long rangeCount(int low, int high) {
+      if (low > high) {
+         return 0;
+      }
+      long below = (low == Integer.MIN_VALUE) ? 0 : rank(low - 1);
+      return Math.max(0, rank(high) - below);
+   }
+
+   /**
+    * Returns an estimate of the kth smallest value added, counting
+    * duplicates. This method throws IllegalArgumentException if the
+    * sketch is empty or if k < 1 or k > size().
+    *
+    * @param k number
+    * @return approximate kth minimum value
+    */
+   public int kmin(long k) {
+      checkEmpty();
+      if (k < 1 || k > count) {
+         throw new IllegalArgumentException();
+      }
+      return select(k);
+   }
+
+   /**
+    * Returns an estimate of the kth largest value added, counting
+    * duplicates. This method throws IllegalArgumentException if the
+    * sketch is empty or if k < 1 or k > size().
+    *
+    * @param k number
+    * @return approximate kth maximum value
+    */
+   public int kmax(long k) {
+      checkEmpty();
+      if (k < 1 || k > count) {
+         throw new IllegalArgumentException();
+      }
+      return select(count - k + 1);
+   }
+
+   /**
+    * Throws IllegalArgumentException if no values have been added.
+    */
+   private void checkEmpty() {
+      if (count == 0) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+   /**
+    * Returns the sample whose cumulative weight first reaches k. The
+    * extremes are exact, so ranks 1 and count return min and max.
+    *
+    * @param k one-based rank among all values added
+    * @return approximate value of rank k
+    */
+   private int select(long k) {
+      if (k == 1) {
+         return min;
+      }
+      if (k == count) {
+         return max;
+      }
+      // each sample packed as value * 64 + level sorts by value
+      int n = 0;
+      for (int h = 0; h < height; h++) {
+         n += sizes[h];
+      }
+      long[] samples = new long[n];
+      int j = 0;
+      for (int h = 0; h < height; h++) {
+         for (int i = 0; i < sizes[h]; i++) {
+            samples[j++] = ((long) levels[h][i] << 6) | h;
+         }
+      }
+      Arrays.sort(samples);
+      long seen = 0;
+      for (int i = 0; i < n; i++) {
+         seen += 1L << (samples[i] & 63);
+         if (seen >= k) {
+            return (int) (samples[i] >> 6);
+         }
+      }
+      return max;
+   }
+
+   /**
+    * Returns the capacity of level h given the current height.
+    *
+    * @param h level
+    * @return maximum number of samples level h holds before compacting
+    */
+   private int capacity(int h) {
+      double c = k * Math.pow(SHRINK, height - 1 - h);
+      return Math.max(MIN_WIDTH, (int) Math.ceil(c));
+   }
+
+   /**
+    * Appends v to level h, growing its storage if needed.
+    *
+    * @param h level
+    * @param v sample
+    */
+   private void append(int h, int v) {
+      if (sizes[h] == levels[h].length) {
+         levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+      }
+      levels[h][sizes[h]++] = v;
+   }
+
+   /**
+    * Adds an empty level on top of the stack.
+    */
+   private void addLevel() {
+      if (height == levels.length) {
+         levels = Arrays.copyOf(levels, height * 2);
+         sizes = Arrays.copyOf(sizes, height * 2);
+      }
+      levels[height] = new int[MIN_WIDTH];
+      sizes[height] = 0;
+      height++;
+   }
+
+   /**
+    * Compacts full levels, from the bottom up, until every level is within
+    * its capacity.
+    */
+   private void compress() {
+      for (int h = 0; h < height; h++) {
+         if (sizes[h] >= capacity(h)) {
+            if (h == height - 1) {
+               addLevel();
+            }
+            compact(h);
+         }
+      }
+   }
+
+   /**
+    * Sorts level h and promotes every other sample to level h + 1,
+    * starting from a random offset. If the level holds an odd number of
+    * samples its smallest one stays behind.
+    *
+    * @param h level
+    */
+   private void compact(int h) {
+      int[] level = levels[h];
+      int size = sizes[h];
+      Arrays.sort(level, 0, size);
+      int from = size & 1;
+      seed ^= seed << 13;
+      seed ^= seed >>> 17;
+      seed ^= seed << 5;
+      int offset = seed & 1;
+      for (int i = from + offset; i < size; i += 2) {
+         append(h + 1, level[i]);
+      }
+      sizes[h] = from;
+   }
+
+}
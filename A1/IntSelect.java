@@ -0,0 +1,204 @@
+import java.util.Arrays;
+
+/**
+ * IntSelect.java.
+ * Selection engine for the kth distinct order statistic of an int array.
+ * Distinct values are gathered into a single scratch buffer with an
+ * open-addressing hash table, and the requested rank is then located with
+ * an introselect: quickselect with median-of-three pivots that falls back
+ * to sorting the remaining subrange if partitioning stops making progress.
+ * Expected running time is O(n).
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+final class IntSelect {
+
+   /** Largest array that is deduplicated by hashing rather than sorting. */
+   private static final int MAX_HASHED = 1 << 29;
+
+   /** Multiplier used to spread values across the hash table. */
+   private static final int SPREAD = 0x9E3779B9;
+
+   /**
+    * Can't instantiate this class.
+    *
+    */
+   private IntSelect() { }
+
+
+   /**
+    * Returns the kth smallest (or kth largest) distinct value in a. This
+    * method throws IllegalArgumentException if there are fewer than k
+    * distinct values in a. The array a is not changed by this method.
+    *
+    * @param a array, assumed non-null and non-empty
+    * @param k rank of the value to select, assumed to be at least 1
+    * @param largest true to count from the maximum, false from the minimum
+    * @return the kth distinct value in a
+    */
+   static int kth(int[] a, int k, boolean largest) {
+      boolean hashed = a.length <= MAX_HASHED;
+      int[] buf = new int[hashed ? tableSize(a.length) : a.length];
+      int n = hashed ? distinct(a, buf) : distinctSorted(a, buf);
+      if (k > n) {
+         throw new IllegalArgumentException();
+      }
+      int rank = largest ? n - k : k - 1;
+      return select(buf, 0, n - 1, rank);
+   }
+
+
+   /**
+    * Returns the length of hash table that distinct requires for an array
+    * of the given length: enough that the table is at most three quarters
+    * full even if every value is distinct.
+    *
+    * @param length length of the source array
+    * @return table length
+    */
+   private static int tableSize(int length) {
+      return length + length / 3 + 1;
+   }
+
+
+   /**
+    * Copies each distinct value of a exactly once into the front of buf and
+    * returns the number of distinct values. Zero marks an empty hash slot,
+    * so occurrences of zero itself are tracked by a flag instead.
+    *
+    * @param a source array
+    * @param buf zeroed scratch buffer of length tableSize(a.length)
+    * @return number of distinct values now stored in buf[0..n-1]
+    */
+   static int distinct(int[] a, int[] buf) {
+      long size = buf.length;
+      boolean zero = false;
+      for (int i = 0; i < a.length; i++) {
+         int v = a[i];
+         if (v == 0) {
+            zero = true;
+            continue;
+         }
+         // scale the spread hash to [0, size) without a division
+         int slot = (int) (((v * SPREAD) & 0xFFFFFFFFL) * size >>> 32);
+         while (buf[slot] != 0 && buf[slot] != v) {
+            slot = slot + 1 == size ? 0 : slot + 1;
+         }
+         buf[slot] = v;
+      }
+      int n = 0;
+      for (int i = 0; i < buf.length; i++) {
+         if (buf[i] != 0) {
+            buf[n++] = buf[i];
+         }
+      }
+      if (zero) {
+         buf[n++] = 0;
+      }
+      return n;
+   }
+
+
+   /**
+    * Fallback for arrays too large to hash: sorts a copy of a in buf and
+    * compacts the distinct values to the front.
+    *
+    * @param a source array
+    * @param buf scratch buffer of the same length as a
+    * @return number of distinct values now stored in buf[0..n-1]
+    */
+   private static int distinctSorted(int[] a, int[] buf) {
+      System.arraycopy(a, 0, buf, 0, a.length);
+      Arrays.sort(buf);
+      int n = 1;
+      for (int i = 1; i < buf.length; i++) {
+         if (buf[i] != buf[n - 1]) {
+            buf[n++] = buf[i];
+         }
+      }
+      return n;
+   }
+
+
+   /**
+    * Rearranges b[lo..hi], which must hold distinct values, so that the
+    * value of the given rank is at b[rank], and returns that value.
+    *
+    * @param b array of distinct values
+    * @param lo lower bound of the subrange, inclusive
+    * @param hi upper bound of the subrange, inclusive
+    * @param rank zero-based rank within b[lo..hi] to select
+    * @return the value of the given rank
+    */
+   static int select(int[] b, int lo, int hi, int rank) {
+      int budget = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1));
+      while (hi > lo) {
+         if (budget-- == 0) {
+            Arrays.sort(b, lo, hi + 1);
+            return b[rank];
+         }
+         int p = partition(b, lo, hi);
+         if (p == rank) {
+            return b[p];
+         }
+         else if (p < rank) {
+            lo = p + 1;
+         }
+         else {
+            hi = p - 1;
+         }
+      }
+      return b[rank];
+   }
+
+
+   /**
+    * Partitions b[lo..hi] around a median-of-three pivot and returns the
+    * final index of the pivot.
+    *
+    * @param b array of distinct values
+    * @param lo lower bound of the subrange, inclusive
+    * @param hi upper bound of the subrange, inclusive
+    * @return index of the pivot after partitioning
+    */
+   private static int partition(int[] b, int lo, int hi) {
+      int mid = (lo + hi) >>> 1;
+      if (b[mid] < b[lo]) {
+         swap(b, mid, lo);
+      }
+      if (b[hi] < b[lo]) {
+         swap(b, hi, lo);
+      }
+      if (b[hi] < b[mid]) {
+         swap(b, hi, mid);
+      }
+      // median now at mid; park it at hi for a Lomuto pass
+      swap(b, mid, hi);
+      int pivot = b[hi];
+      int store = lo;
+      for (int i = lo; i < hi; i++) {
+         if (b[i] < pivot) {
+            swap(b, i, store++);
+         }
+      }
+      swap(b, store, hi);
+      return store;
+   }
+
+
+   /**
+    * Exchanges b[i] and b[j].
+    *
+    * @param b array
+    * @param i first index
+    * @param j second index
+    */
+   private static void swap(int[] b, int i, int j) {
+      int t = b[i];
+      b[i] = b[j];
+      b[j] = t;
+   }
+
+}
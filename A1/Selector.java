@@ -1,3 +1,9 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 /**
@@ -18,6 +24,10 @@ public final class Selector {
    private Selector() { }
 
 
+   /** Default number of elements each parallel task scans sequentially. */
+   public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+
    /**
     * Selects the minimum value from the array a. This method
     * throws IllegalArgumentException if a is null or has zero
@@ -30,12 +40,10 @@ public final class Selector {
       if (a == null || a.length == 0) {
          throw new IllegalArgumentException();
       }
-      int i = 0;
-      int min = a[i];
-      for (i = 1; i < a.length; i++) {
-         if (min > a[i]) {
-            min = a[i];
-         }
+      // branch-free reduction so the JIT can vectorize the loop
+      int min = a[0];
+      for (int i = 1; i < a.length; i++) {
+         min = Math.min(min, a[i]);
       }
       return min;
    }
@@ -53,12 +61,10 @@ public final class Selector {
       if (a == null || a.length == 0) {
          throw new IllegalArgumentException();
       }
-      int i = 0;
-      int max = a[i];
-      for (i = 1; i < a.length; i++) {
-         if (max < a[i]) {
-            max = a[i];
-         }
+      // branch-free reduction so the JIT can vectorize the loop
+      int max = a[0];
+      for (int i = 1; i < a.length; i++) {
+         max = Math.max(max, a[i]);
       }
       return max;
    }
@@ -84,37 +90,7 @@ public final class Selector {
       if (a.length == 1) {
          return a[0];
       }
-      
-      int[] b = new int[a.length];
-      for (int i = 0; i < b.length; i++) {
-         b[i] = a[i];
-      }
-      int distinctVals = 1;
-      int retLength = b.length;
-      
-      Arrays.sort(b);
-      
-      for (int i = 0; i < b.length - 1; i++) {
-         if (b[i] != b[i + 1]) {
-            distinctVals++;
-         }
-         else {
-            retLength--;
-         }
-      }
-      if (k > distinctVals) {
-         throw new IllegalArgumentException();
-      }
-         
-      int[] ret = new int[retLength];
-      ret[0] = b[0];
-      int j = 1;
-      for (int i = 1; i < b.length; i++) {
-         if (b[i] != b[i - 1]) {
-            ret[j++] = b[i];
-         }
-      }
-      return ret[k - 1];
+      return IntSelect.kth(a, k, false);
    }
 
 
@@ -138,38 +114,7 @@ public final class Selector {
       if (a.length == 1) {
          return a[0];
       }
-      
-      int[] b = new int[a.length];
-      for (int i = 0; i < b.length; i++) {
-         b[i] = a[i];
-      }
-      int distinctVals = 1;
-      int retLength = b.length;
-      
-      Arrays.sort(b);
-      
-      for (int i = 0; i < b.length - 1; i++) {
-         if (b[i] != b[i + 1]) {
-            distinctVals++;
-         }
-         else {
-            retLength--;
-         }
-      }
-      
-      if (k > distinctVals) {
-         throw new IllegalArgumentException();
-      }
-         
-      int[] ret = new int[retLength];
-      ret[0] = b[0];
-      int j = 1;
-      for (int i = 1; i < b.length; i++) {
-         if (b[i] != b[i - 1]) {
-            ret[j++] = b[i];
-         }
-      }
-      return ret[ret.length - k];
+      return IntSelect.kth(a, k, true);
    }
 
 
@@ -195,18 +140,24 @@ public final class Selector {
       if (a == null || a.length == 0) {
          throw new IllegalArgumentException();
       }
+      if (low > high) {
+         return new int[0];
+      }
+      // low <= v <= high is a single unsigned compare of v - low
+      // against high - low; biasing by MIN_VALUE makes it a signed one
+      int bias = Integer.MIN_VALUE;
+      int span = (high - low) + bias;
       int count = 0;
       for (int i = 0; i < a.length; i++) {
-         if (a[i] >= low && a[i] <= high) {
-            count++;
-         }
+         count += (a[i] - low + bias <= span) ? 1 : 0;
+      }
+      if (count == a.length) {
+         return a.clone();
       }
       int[] ret = new int[count];
-      int j = 0;
-      for (int i = 0; i < a.length; i++) {
-         if (a[i] >= low && a[i] <= high) {
-            ret[j++] = a[i];
-         }
+      for (int i = 0, j = 0; j < count; i++) {
+         ret[j] = a[i];
+         j += (a[i] - low + bias <= span) ? 1 : 0;
       }
       return ret;
    }
@@ -269,4 +220,789 @@ public final class Selector {
       return floor;
    }
 
+
+   /*************************************************************************/
+   /***************************PARALLEL VARIANTS*****************************/
+   /*************************************************************************/
+
+   /**
+    * Selects the minimum value from the array a, scanning chunks of
+    * DEFAULT_THRESHOLD elements in parallel. Same contract as min.
+    *
+    * @param a array
+    * @return The minimum value in the array
+    */
+   public static int parallelMin(int[] a) {
+      return parallelMin(a, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Selects the minimum value from the array a, scanning chunks of
+    * threshold elements in parallel. Same contract as min; this method
+    * also throws IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param threshold number of elements each task scans sequentially
+    * @return The minimum value in the array
+    */
+   public static int parallelMin(int[] a, int threshold) {
+      checkParallel(a, threshold);
+      int chunks = ChunkTask.count(a.length, threshold);
+      int[] part = new int[chunks];
+      ChunkTask.forEach(chunks,
+         c -> part[c] = minOf(a, ChunkTask.start(c, threshold),
+                              ChunkTask.end(c, threshold, a.length)));
+      return minOf(part, 0, chunks);
+   }
+
+
+   /**
+    * Selects the maximum value from the array a, scanning chunks of
+    * DEFAULT_THRESHOLD elements in parallel. Same contract as max.
+    *
+    * @param a array
+    * @return The maximum value in the array
+    */
+   public static int parallelMax(int[] a) {
+      return parallelMax(a, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Selects the maximum value from the array a, scanning chunks of
+    * threshold elements in parallel. Same contract as max; this method
+    * also throws IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param threshold number of elements each task scans sequentially
+    * @return The maximum value in the array
+    */
+   public static int parallelMax(int[] a, int threshold) {
+      checkParallel(a, threshold);
+      int chunks = ChunkTask.count(a.length, threshold);
+      int[] part = new int[chunks];
+      ChunkTask.forEach(chunks,
+         c -> part[c] = maxOf(a, ChunkTask.start(c, threshold),
+                              ChunkTask.end(c, threshold, a.length)));
+      return maxOf(part, 0, chunks);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a using a parallel sort
+    * of a copy. Same contract as kmin.
+    *
+    * @param a array
+    * @param k number
+    * @return The kth minimum value in the array
+    */
+   public static int parallelKmin(int[] a, int k) {
+      return parallelKmin(a, k, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Selects the kth minimum value from the array a using a parallel sort
+    * of a copy, with distinct values counted in chunks of threshold
+    * elements. Same contract as kmin; this method also throws
+    * IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param k number
+    * @param threshold number of elements each task scans sequentially
+    * @return The kth minimum value in the array
+    */
+   public static int parallelKmin(int[] a, int k, int threshold) {
+      checkParallel(a, threshold);
+      if (k < 1 || k > a.length) {
+         throw new IllegalArgumentException();
+      }
+      return parallelKth(a, k, false, threshold);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a using a parallel sort
+    * of a copy. Same contract as kmax.
+    *
+    * @param a array
+    * @param k number
+    * @return The kth maximum value in the array
+    */
+   public static int parallelKmax(int[] a, int k) {
+      return parallelKmax(a, k, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the array a using a parallel sort
+    * of a copy, with distinct values counted in chunks of threshold
+    * elements. Same contract as kmax; this method also throws
+    * IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param k number
+    * @param threshold number of elements each task scans sequentially
+    * @return The kth maximum value in the array
+    */
+   public static int parallelKmax(int[] a, int k, int threshold) {
+      checkParallel(a, threshold);
+      if (k < 1 || k > a.length) {
+         throw new IllegalArgumentException();
+      }
+      return parallelKth(a, k, true, threshold);
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the range
+    * [low..high], in their original order, counting and copying chunks
+    * of DEFAULT_THRESHOLD elements in parallel. Same contract as range.
+    *
+    * @param a array
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return The array containing all the values in the range
+    * [low..high]
+    */
+   public static int[] parallelRange(int[] a, int low, int high) {
+      return parallelRange(a, low, high, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Returns an array containing all the values in a in the range
+    * [low..high], in their original order, counting and copying chunks
+    * of threshold elements in parallel. Same contract as range; this
+    * method also throws IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @param threshold number of elements each task scans sequentially
+    * @return The array containing all the values in the range
+    * [low..high]
+    */
+   public static int[] parallelRange(int[] a, int low, int high,
+                                     int threshold) {
+      checkParallel(a, threshold);
+      if (low > high) {
+         return new int[0];
+      }
+      int chunks = ChunkTask.count(a.length, threshold);
+      int[] offset = new int[chunks + 1];
+      ChunkTask.forEach(chunks,
+         c -> offset[c + 1] = countIn(a, ChunkTask.start(c, threshold),
+                                 ChunkTask.end(c, threshold, a.length),
+                                 low, high));
+      for (int c = 0; c < chunks; c++) {
+         offset[c + 1] += offset[c];
+      }
+      int[] ret = new int[offset[chunks]];
+      ChunkTask.forEach(chunks,
+         c -> copyIn(a, ChunkTask.start(c, threshold), low, high,
+                     ret, offset[c], offset[c + 1]));
+      return ret;
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to
+    * the given key, scanning chunks of DEFAULT_THRESHOLD elements in
+    * parallel. Same contract as ceiling.
+    *
+    * @param a array
+    * @param key number
+    * @return The smallest value in a that is greater than or equal to
+    * the given key
+    */
+   public static int parallelCeiling(int[] a, int key) {
+      return parallelCeiling(a, key, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to
+    * the given key, scanning chunks of threshold elements in parallel.
+    * Same contract as ceiling; this method also throws
+    * IllegalArgumentException if threshold < 1.
+    *
+    * @param a array
+    * @param key number
+    * @param threshold number of elements each task scans sequentially
+    * @return The smallest value in a that is greater than or equal to
+    * the given key
+    */
+   public static int parallelCeiling(int[] a, int key, int threshold) {
+      checkParallel(a, threshold);
+      int chunks = ChunkTask.count(a.length, threshold);
+      int[] part = new int[chunks];
+      ChunkTask.forEach(chunks,
+         c -> part[c] = ceilingOf(a, ChunkTask.start(c, threshold),
+                                  ChunkTask.end(c, threshold, a.length),
+                                  key));
+      int ceil = minOf(part, 0, chunks);
+      if (ceil == Integer.MAX_VALUE) {
+         throw new IllegalArgumentException();
+      }
+      return ceil;
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to the
+    * given key, scanning chunks of DEFAULT_THRESHOLD elements in parallel.
+    * Same contract as floor.
+    *
+    * @param a array
+    * @param key number
+    * @return The largest value in a that is less than or equal to
+    * the given key
+    */
+   public static int parallelFloor(int[] a, int key) {
+      return parallelFloor(a, key, DEFAULT_THRESHOLD);
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to the
+    * given key, scanning chunks of threshold elements in parallel. Same
+    * contract as floor; this method also throws IllegalArgumentException
+    * if threshold < 1.
+    *
+    * @param a array
+    * @param key number
+    * @param threshold number of elements each task scans sequentially
+    * @return The largest value in a that is less than or equal to
+    * the given key
+    */
+   public static int parallelFloor(int[] a, int key, int threshold) {
+      checkParallel(a, threshold);
+      int chunks = ChunkTask.count(a.length, threshold);
+      int[] part = new int[chunks];
+      ChunkTask.forEach(chunks,
+         c -> part[c] = floorOf(a, ChunkTask.start(c, threshold),
+                                ChunkTask.end(c, threshold, a.length),
+                                key));
+      int floor = maxOf(part, 0, chunks);
+      if (floor == Integer.MIN_VALUE) {
+         throw new IllegalArgumentException();
+      }
+      return floor;
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if a is null or empty, or if
+    * threshold is less than one.
+    *
+    * @param a array
+    * @param threshold number of elements each task scans sequentially
+    */
+   private static void checkParallel(int[] a, int threshold) {
+      if (a == null || a.length == 0 || threshold < 1) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Selects the kth distinct value of a from a parallel-sorted copy. The
+    * distinct values in each chunk are counted in parallel and the chunk
+    * holding the kth one is then scanned.
+    *
+    * @param a array
+    * @param k number
+    * @param largest true to count from the maximum
+    * @param threshold number of elements each task scans sequentially
+    * @return The kth distinct value
+    */
+   private static int parallelKth(int[] a, int k, boolean largest,
+                                  int threshold) {
+      int[] b = a.clone();
+      Arrays.parallelSort(b);
+      int chunks = ChunkTask.count(b.length, threshold);
+      int[] distinct = new int[chunks];
+      ChunkTask.forEach(chunks,
+         c -> distinct[c] = startsIn(b, ChunkTask.start(c, threshold),
+                                     ChunkTask.end(c, threshold, b.length)));
+      int total = 0;
+      for (int c = 0; c < chunks; c++) {
+         total += distinct[c];
+      }
+      if (k > total) {
+         throw new IllegalArgumentException();
+      }
+      int rank = largest ? total - k : k - 1;
+      int c = 0;
+      while (rank >= distinct[c]) {
+         rank -= distinct[c++];
+      }
+      for (int i = ChunkTask.start(c, threshold); ; i++) {
+         if (i == 0 || b[i] != b[i - 1]) {
+            if (rank-- == 0) {
+               return b[i];
+            }
+         }
+      }
+   }
+
+
+   /**
+    * Returns the minimum of a[lo..hi).
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @return minimum value in the subrange
+    */
+   private static int minOf(int[] a, int lo, int hi) {
+      int min = a[lo];
+      for (int i = lo + 1; i < hi; i++) {
+         min = Math.min(min, a[i]);
+      }
+      return min;
+   }
+
+
+   /**
+    * Returns the maximum of a[lo..hi).
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @return maximum value in the subrange
+    */
+   private static int maxOf(int[] a, int lo, int hi) {
+      int max = a[lo];
+      for (int i = lo + 1; i < hi; i++) {
+         max = Math.max(max, a[i]);
+      }
+      return max;
+   }
+
+
+   /**
+    * Returns the ceiling of key in a[lo..hi), or Integer.MAX_VALUE if
+    * there is none, exactly as ceiling computes it.
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @param key number
+    * @return ceiling of key in the subrange
+    */
+   private static int ceilingOf(int[] a, int lo, int hi, int key) {
+      int ceil = Integer.MAX_VALUE;
+      for (int i = lo; i < hi; i++) {
+         if (a[i] >= key && ceil > a[i]) {
+            ceil = a[i];
+         }
+      }
+      return ceil;
+   }
+
+
+   /**
+    * Returns the floor of key in a[lo..hi), or Integer.MIN_VALUE if
+    * there is none, exactly as floor computes it.
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @param key number
+    * @return floor of key in the subrange
+    */
+   private static int floorOf(int[] a, int lo, int hi, int key) {
+      int floor = Integer.MIN_VALUE;
+      for (int i = lo; i < hi; i++) {
+         if (a[i] <= key && floor < a[i]) {
+            floor = a[i];
+         }
+      }
+      return floor;
+   }
+
+
+   /**
+    * Returns the number of values of a[lo..hi) in [low..high], where
+    * low <= high.
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return number of qualifying values
+    */
+   private static int countIn(int[] a, int lo, int hi, int low, int high) {
+      int bias = Integer.MIN_VALUE;
+      int span = (high - low) + bias;
+      int count = 0;
+      for (int i = lo; i < hi; i++) {
+         count += (a[i] - low + bias <= span) ? 1 : 0;
+      }
+      return count;
+   }
+
+
+   /**
+    * Copies the values of a starting at lo that are in [low..high], where
+    * low <= high, into ret[at..stop).
+    *
+    * @param a array
+    * @param lo first index, inclusive
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @param ret destination array
+    * @param at first destination index, inclusive
+    * @param stop last destination index, exclusive
+    */
+   private static void copyIn(int[] a, int lo, int low, int high,
+                              int[] ret, int at, int stop) {
+      int bias = Integer.MIN_VALUE;
+      int span = (high - low) + bias;
+      for (int i = lo, j = at; j < stop; i++) {
+         ret[j] = a[i];
+         j += (a[i] - low + bias <= span) ? 1 : 0;
+      }
+   }
+
+
+   /**
+    * Returns the number of indexes i in [lo..hi) of the sorted array b at
+    * which a new distinct value starts.
+    *
+    * @param b sorted array
+    * @param lo first index, inclusive
+    * @param hi last index, exclusive
+    * @return number of distinct values starting in the subrange
+    */
+   private static int startsIn(int[] b, int lo, int hi) {
+      int count = 0;
+      for (int i = lo; i < hi; i++) {
+         if (i == 0 || b[i] != b[i - 1]) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+
+   /*************************************************************************/
+   /****************************BUFFER VARIANTS******************************/
+   /*************************************************************************/
+
+   /** Largest k for which kmin and kmax on a buffer avoid copying it. */
+   private static final int MAX_STREAMED_K = 1 << 16;
+
+
+   /**
+    * Maps the named file of big-endian ints into memory, read-only. The
+    * file is not loaded onto the heap; pages are read on demand by the
+    * operating system. A single mapping is limited to 2 GB, so larger
+    * files should be queried in windows with map(filename, offset, count).
+    *
+    * @param filename name of a file of 4-byte ints
+    * @return a buffer over every int in the file
+    * @throws IOException if the file cannot be opened or mapped
+    */
+   public static IntBuffer map(String filename) throws IOException {
+      try (FileChannel ch = FileChannel.open(Paths.get(filename),
+                                             StandardOpenOption.READ)) {
+         long count = ch.size() / Integer.BYTES;
+         if (count > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IOException("file too large for one mapping");
+         }
+         return map(ch, 0, (int) count);
+      }
+   }
+
+
+   /**
+    * Maps count big-endian ints of the named file into memory, read-only,
+    * starting at the int with index offset.
+    *
+    * @param filename name of a file of 4-byte ints
+    * @param offset index of the first int to map
+    * @param count number of ints to map
+    * @return a buffer over the requested ints
+    * @throws IOException if the file cannot be opened or mapped
+    */
+   public static IntBuffer map(String filename, long offset, int count)
+                                                      throws IOException {
+      try (FileChannel ch = FileChannel.open(Paths.get(filename),
+                                             StandardOpenOption.READ)) {
+         return map(ch, offset, count);
+      }
+   }
+
+
+   /**
+    * Selects the minimum of the values remaining in buffer b. This method
+    * throws IllegalArgumentException if b is null or has no remaining
+    * values. Neither the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @return The minimum value in the buffer
+    */
+   public static int min(IntBuffer b) {
+      checkBuffer(b);
+      int min = b.get(b.position());
+      for (int i = b.position() + 1; i < b.limit(); i++) {
+         min = Math.min(min, b.get(i));
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum of the values remaining in buffer b. This method
+    * throws IllegalArgumentException if b is null or has no remaining
+    * values. Neither the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @return The maximum value in the buffer
+    */
+   public static int max(IntBuffer b) {
+      checkBuffer(b);
+      int max = b.get(b.position());
+      for (int i = b.position() + 1; i < b.limit(); i++) {
+         max = Math.max(max, b.get(i));
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum of the values remaining in buffer b, with the
+    * same exceptions as kmin on an array. For k up to 65536 the k smallest
+    * distinct values are kept in a window of 2k values while the buffer is
+    * streamed, so b is never copied; larger k copies b onto the heap.
+    * Neither the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @param k number
+    * @return The kth minimum value in the buffer
+    */
+   public static int kmin(IntBuffer b, int k) {
+      checkBuffer(b);
+      if (k < 1 || k > b.remaining()) {
+         throw new IllegalArgumentException();
+      }
+      return kth(b, k, false);
+   }
+
+
+   /**
+    * Selects the kth maximum of the values remaining in buffer b, with the
+    * same exceptions as kmax on an array. For k up to 65536 the k largest
+    * distinct values are kept in a window of 2k values while the buffer is
+    * streamed, so b is never copied; larger k copies b onto the heap.
+    * Neither the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @param k number
+    * @return The kth maximum value in the buffer
+    */
+   public static int kmax(IntBuffer b, int k) {
+      checkBuffer(b);
+      if (k < 1 || k > b.remaining()) {
+         throw new IllegalArgumentException();
+      }
+      return kth(b, k, true);
+   }
+
+
+   /**
+    * Returns an array containing all the values remaining in buffer b that
+    * are in the range [low..high], in buffer order, including duplicates.
+    * This method throws IllegalArgumentException if b is null or has no
+    * remaining values. Neither the contents nor the position of b are
+    * changed.
+    *
+    * @param b buffer
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return The array containing all the values in the range
+    * [low..high]
+    */
+   public static int[] range(IntBuffer b, int low, int high) {
+      checkBuffer(b);
+      if (low > high) {
+         return new int[0];
+      }
+      int bias = Integer.MIN_VALUE;
+      int span = (high - low) + bias;
+      int count = 0;
+      for (int i = b.position(); i < b.limit(); i++) {
+         count += (b.get(i) - low + bias <= span) ? 1 : 0;
+      }
+      int[] ret = new int[count];
+      for (int i = b.position(), j = 0; j < count; i++) {
+         int v = b.get(i);
+         ret[j] = v;
+         j += (v - low + bias <= span) ? 1 : 0;
+      }
+      return ret;
+   }
+
+
+   /**
+    * Returns the smallest value remaining in buffer b that is greater than
+    * or equal to key, with the same exceptions as ceiling on an array.
+    * Neither the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @param key number
+    * @return The smallest value in b that is greater than or equal to
+    * the given key
+    */
+   public static int ceiling(IntBuffer b, int key) {
+      checkBuffer(b);
+      int ceil = Integer.MAX_VALUE;
+      for (int i = b.position(); i < b.limit(); i++) {
+         int v = b.get(i);
+         if (v >= key && ceil > v) {
+            ceil = v;
+         }
+      }
+      if (ceil == Integer.MAX_VALUE) {
+         throw new IllegalArgumentException();
+      }
+      return ceil;
+   }
+
+
+   /**
+    * Returns the largest value remaining in buffer b that is less than or
+    * equal to key, with the same exceptions as floor on an array. Neither
+    * the contents nor the position of b are changed.
+    *
+    * @param b buffer
+    * @param key number
+    * @return The largest value in b that is less than or equal to
+    * the given key
+    */
+   public static int floor(IntBuffer b, int key) {
+      checkBuffer(b);
+      int floor = Integer.MIN_VALUE;
+      for (int i = b.position(); i < b.limit(); i++) {
+         int v = b.get(i);
+         if (v <= key && floor < v) {
+            floor = v;
+         }
+      }
+      if (floor == Integer.MIN_VALUE) {
+         throw new IllegalArgumentException();
+      }
+      return floor;
+   }
+
+
+   /**
+    * Maps count ints of an open channel starting at int index offset.
+    *
+    * @param ch open channel
+    * @param offset index of the first int to map
+    * @param count number of ints to map
+    * @return a read-only buffer over the requested ints
+    * @throws IOException if the region cannot be mapped
+    */
+   private static IntBuffer map(FileChannel ch, long offset, int count)
+                                                      throws IOException {
+      if (offset < 0 || count < 0
+            || (offset + count) * Integer.BYTES > ch.size()) {
+         throw new IllegalArgumentException("region outside file");
+      }
+      MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY,
+                                   offset * Integer.BYTES,
+                                   (long) count * Integer.BYTES);
+      return mb.asIntBuffer();
+   }
+
+
+   /**
+    * Throws IllegalArgumentException if b is null or has no remaining
+    * values.
+    *
+    * @param b buffer
+    */
+   private static void checkBuffer(IntBuffer b) {
+      if (b == null || !b.hasRemaining()) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+
+   /**
+    * Selects the kth distinct value remaining in b. Small k streams the
+    * buffer through a window of 2k slots: values that can still be among
+    * the k best distinct values are appended, and whenever the window
+    * fills it is sorted and cut back to its k best distinct values, whose
+    * largest then bounds what later values must beat. Each cut costs
+    * O(k log k) and follows at least k appends, so the whole pass takes
+    * O(n log k) whatever the order of b. Values are complemented when
+    * counting from the maximum, which reverses their order without
+    * overflow.
+    *
+    * @param b buffer
+    * @param k number, at least 1
+    * @param largest true to count from the maximum
+    * @return The kth distinct value
+    */
+   private static int kth(IntBuffer b, int k, boolean largest) {
+      if (k > MAX_STREAMED_K) {
+         int[] a = new int[b.remaining()];
+         b.duplicate().get(a);
+         return IntSelect.kth(a, k, largest);
+      }
+      int flip = largest ? -1 : 0;
+      int[] window = new int[2 * k];
+      int size = 0;
+      boolean full = false;
+      int bound = 0;
+      for (int i = b.position(); i < b.limit(); i++) {
+         int v = b.get(i) ^ flip;
+         if (full && v >= bound) {
+            continue;
+         }
+         window[size++] = v;
+         if (size == window.length) {
+            size = keepBest(window, size, k);
+            if (size == k) {
+               full = true;
+               bound = window[k - 1];
+            }
+         }
+      }
+      size = keepBest(window, size, k);
+      if (size < k) {
+         throw new IllegalArgumentException();
+      }
+      return window[k - 1] ^ flip;
+   }
+
+
+   /**
+    * Sorts window[0..size-1] and moves its k smallest distinct values, in
+    * ascending order, to the front.
+    *
+    * @param window values
+    * @param size number of values in window
+    * @param k number of distinct values to keep
+    * @return number of values kept, at most k
+    */
+   private static int keepBest(int[] window, int size, int k) {
+      Arrays.sort(window, 0, size);
+      int n = 0;
+      for (int i = 0; i < size && n < k; i++) {
+         if (n == 0 || window[i] != window[n - 1]) {
+            window[n++] = window[i];
+         }
+      }
+      return n;
+   }
+
 }
@@ -0,0 +1,264 @@
+/**
+ * SelectorQuery.java.
+ * Computes several Selector statistics over the same int array in a
+ * single pass. Statistics are registered on a query, which can then be
+ * evaluated against any number of arrays:
+ *
+ * <pre>
+ *    SelectorQuery q = new SelectorQuery().min().max()
+ *                         .ceiling(10).floor(10).rangeCount(5, 20);
+ *    SelectorQuery.Result r = q.evaluate(a);
+ *    int lo = r.min();
+ * </pre>
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+public final class SelectorQuery {
+
+   /** which statistics have been registered. */
+   private boolean min;
+   private boolean max;
+   private boolean ceiling;
+   private boolean floor;
+   private boolean range;
+
+   /** arguments of the registered statistics. */
+   private int ceilingKey;
+   private int floorKey;
+   private int low;
+   private int high;
+
+   /**
+    * Creates a query with no statistics registered.
+    *
+    */
+   public SelectorQuery() { }
+
+   /**
+    * Registers the minimum value.
+    *
+    * @return this query
+    */
+   public SelectorQuery min() {
+      min = true;
+      return this;
+   }
+
+   /**
+    * Registers the maximum value.
+    *
+    * @return this query
+    */
+   public SelectorQuery max() {
+      max = true;
+      return this;
+   }
+
+   /**
+    * Registers the smallest value greater than or equal to key, replacing
+    * any ceiling registered earlier.
+    *
+    * @param key number
+    * @return this query
+    */
+   public SelectorQuery ceiling(int key) {
+      ceiling = true;
+      ceilingKey = key;
+      return this;
+   }
+
+   /**
+    * Registers the largest value less than or equal to key, replacing any
+    * floor registered earlier.
+    *
+    * @param key number
+    * @return this query
+    */
+   public SelectorQuery floor(int key) {
+      floor = true;
+      floorKey = key;
+      return this;
+   }
+
+   /**
+    * Registers the number of values in the range [low..high], replacing
+    * any range registered earlier.
+    *
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return this query
+    */
+   public SelectorQuery rangeCount(int low, int high) {
+      range = true;
+      this.low = low;
+      this.high = high;
+      return this;
+   }
+
+   /**
+    * Evaluates every registered statistic over a in one traversal. This
+    * method throws IllegalArgumentException if a is null or has zero
+    * length. The array a is not changed by this method.
+    *
+    * @param a array
+    * @return the registered statistics
+    */
+   public Result evaluate(int[] a) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException();
+      }
+      int lo = a[0];
+      int hi = a[0];
+      int ceil = Integer.MAX_VALUE;
+      int flr = Integer.MIN_VALUE;
+      boolean hasCeil = false;
+      boolean hasFloor = false;
+      int count = 0;
+
+      // an empty range matches nothing; otherwise one biased compare
+      // tests low <= v <= high
+      int bias = Integer.MIN_VALUE;
+      boolean empty = low > high;
+      int span = (high - low) + bias;
+      for (int i = 0; i < a.length; i++) {
+         int v = a[i];
+         lo = Math.min(lo, v);
+         hi = Math.max(hi, v);
+         if (v >= ceilingKey) {
+            ceil = Math.min(ceil, v);
+            hasCeil = true;
+         }
+         if (v <= floorKey) {
+            flr = Math.max(flr, v);
+            hasFloor = true;
+         }
+         count += (v - low + bias <= span) ? 1 : 0;
+      }
+      return new Result(this, lo, hi, hasCeil, ceil, hasFloor, flr,
+                        empty ? 0 : count);
+   }
+
+   /**
+    * The statistics computed by one evaluation of a query. Accessors for
+    * statistics that were not registered throw IllegalStateException.
+    */
+   public static final class Result {
+
+      /** which statistics were registered when the query ran. */
+      private final boolean minSet;
+      private final boolean maxSet;
+      private final boolean ceilingSet;
+      private final boolean floorSet;
+      private final boolean rangeSet;
+
+      /** computed statistics. */
+      private final int min;
+      private final int max;
+      private final boolean hasCeiling;
+      private final int ceiling;
+      private final boolean hasFloor;
+      private final int floor;
+      private final int rangeCount;
+
+      /**
+       * Records the statistics computed for query.
+       *
+       * @param query the evaluated query
+       * @param min minimum value
+       * @param max maximum value
+       * @param hasCeiling whether some value was >= the ceiling key
+       * @param ceiling ceiling of the ceiling key
+       * @param hasFloor whether some value was <= the floor key
+       * @param floor floor of the floor key
+       * @param rangeCount number of values in the range
+       */
+      private Result(SelectorQuery query, int min, int max,
+                     boolean hasCeiling, int ceiling,
+                     boolean hasFloor, int floor, int rangeCount) {
+         minSet = query.min;
+         maxSet = query.max;
+         ceilingSet = query.ceiling;
+         floorSet = query.floor;
+         rangeSet = query.range;
+         this.min = min;
+         this.max = max;
+         this.hasCeiling = hasCeiling;
+         this.ceiling = ceiling;
+         this.hasFloor = hasFloor;
+         this.floor = floor;
+         this.rangeCount = rangeCount;
+      }
+
+      /**
+       * Returns the minimum value.
+       *
+       * @return The minimum value in the array
+       */
+      public int min() {
+         require(minSet);
+         return min;
+      }
+
+      /**
+       * Returns the maximum value.
+       *
+       * @return The maximum value in the array
+       */
+      public int max() {
+         require(maxSet);
+         return max;
+      }
+
+      /**
+       * Returns the ceiling of the registered key. This method throws
+       * IllegalArgumentException if there was no qualifying value.
+       *
+       * @return The smallest value greater than or equal to the key
+       */
+      public int ceiling() {
+         require(ceilingSet);
+         if (!hasCeiling) {
+            throw new IllegalArgumentException();
+         }
+         return ceiling;
+      }
+
+      /**
+       * Returns the floor of the registered key. This method throws
+       * IllegalArgumentException if there was no qualifying value.
+       *
+       * @return The largest value less than or equal to the key
+       */
+      public int floor() {
+         require(floorSet);
+         if (!hasFloor) {
+            throw new IllegalArgumentException();
+         }
+         return floor;
+      }
+
+      /**
+       * Returns the number of values in the registered range.
+       *
+       * @return number of values in [low..high]
+       */
+      public int rangeCount() {
+         require(rangeSet);
+         return rangeCount;
+      }
+
+      /**
+       * Throws IllegalStateException unless registered is true.
+       *
+       * @param registered whether the statistic was registered
+       */
+      private static void require(boolean registered) {
+         if (!registered) {
+            throw new IllegalStateException("statistic not registered");
+         }
+      }
+   }
+
+}
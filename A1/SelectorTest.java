@@ -2,6 +2,10 @@ import org.junit.Assert;
 // import static org.junit.Assert.*;
 // import org.junit.Before;
 import org.junit.Test;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.IntBuffer;
 
 
 public class SelectorTest {
@@ -23,4 +27,358 @@ public class SelectorTest {
       int[] arr = {3, 7, 3, 3, 1, 9, 1, 1, 1, 5};
       Assert.assertEquals(9, Selector.kmax(arr, 1));
    }
+
+   /** A test. **/
+   @Test public void testKMin_duplicates() {
+      int[] arr = {3, 7, 3, 3, 0, 9, 0, -1, -1, 5};
+      Assert.assertEquals(3, Selector.kmin(arr, 3));
+      Assert.assertEquals(0, Selector.kmax(arr, 5));
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testKMin_tooFewDistinct() {
+      int[] arr = {4, 4, 2, 2};
+      Selector.kmin(arr, 3);
+   }
+
+   /** A test. **/
+   @Test public void testKMin_hashedMatchesSorted() {
+      java.util.Random rnd = new java.util.Random(1);
+      int[] arr = new int[1000];
+      for (int i = 0; i < arr.length; i++) {
+         arr[i] = rnd.nextInt(700) - 350;
+      }
+      int[] d = java.util.Arrays.stream(arr).distinct().sorted().toArray();
+      for (int k = 1; k <= d.length; k += 37) {
+         Assert.assertEquals(d[k - 1], Selector.kmin(arr, k));
+         Assert.assertEquals(d[d.length - k], Selector.kmax(arr, k));
+      }
+   }
+
+   /** A test. **/
+   @Test public void testBuffer_matchesArray() {
+      int[] arr = {3, 7, 3, 3, 0, 9, 0, -1, -1, 5};
+      IntBuffer b = IntBuffer.wrap(arr);
+      Assert.assertEquals(Selector.min(arr), Selector.min(b));
+      Assert.assertEquals(Selector.max(arr), Selector.max(b));
+      for (int k = 1; k <= 6; k++) {
+         Assert.assertEquals(Selector.kmin(arr, k), Selector.kmin(b, k));
+         Assert.assertEquals(Selector.kmax(arr, k), Selector.kmax(b, k));
+      }
+      Assert.assertArrayEquals(Selector.range(arr, 0, 5),
+                               Selector.range(b, 0, 5));
+      Assert.assertEquals(Selector.ceiling(arr, 4), Selector.ceiling(b, 4));
+      Assert.assertEquals(Selector.floor(arr, 4), Selector.floor(b, 4));
+      Assert.assertEquals(0, b.position());
+   }
+
+   /** A test. **/
+   @Test public void testBuffer_monotonic() {
+      int[] arr = new int[200000];
+      for (int i = 0; i < arr.length; i++) {
+         arr[i] = i;
+      }
+      IntBuffer b = IntBuffer.wrap(arr);
+      Assert.assertEquals(arr.length - 1000, Selector.kmax(b, 1000));
+      Assert.assertEquals(999, Selector.kmin(b, 1000));
+      Assert.assertEquals(arr.length - 65536, Selector.kmax(b, 65536));
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testBuffer_tooFewDistinct() {
+      Selector.kmin(IntBuffer.wrap(new int[] {4, 4, 2, 2}), 3);
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testBuffer_empty() {
+      Selector.min(IntBuffer.allocate(0));
+   }
+
+   /** A test. **/
+   @Test public void testMap() throws Exception {
+      File f = File.createTempFile("ints", ".bin");
+      f.deleteOnExit();
+      try (DataOutputStream out =
+              new DataOutputStream(new FileOutputStream(f))) {
+         for (int v = 10; v > 0; v--) {
+            out.writeInt(v);
+         }
+      }
+      IntBuffer all = Selector.map(f.getPath());
+      IntBuffer tail = Selector.map(f.getPath(), 5, 5);
+      Assert.assertEquals(10, all.remaining());
+      Assert.assertEquals(3, Selector.kmin(all, 3));
+      Assert.assertEquals(5, Selector.max(tail));
+      Assert.assertEquals(1, Selector.min(tail));
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testMap_outsideFile() throws Exception {
+      File f = File.createTempFile("ints", ".bin");
+      f.deleteOnExit();
+      Selector.map(f.getPath(), 0, 1);
+   }
+
+   /** A test. **/
+   @Test public void testIndex_matchesSelector() {
+      int[] arr = random(500, 300, 2);
+      SortedIntIndex index = new SortedIntIndex(arr);
+      Assert.assertEquals(arr.length, index.size());
+      Assert.assertEquals(Selector.min(arr), index.min());
+      Assert.assertEquals(Selector.max(arr), index.max());
+      for (int k = 1; k <= index.distinct(); k += 13) {
+         Assert.assertEquals(Selector.kmin(arr, k), index.kmin(k));
+         Assert.assertEquals(Selector.kmax(arr, k), index.kmax(k));
+      }
+      for (int key = -150; key < 150; key += 7) {
+         Assert.assertEquals(Selector.ceiling(arr, key), index.ceiling(key));
+         Assert.assertEquals(Selector.floor(arr, key), index.floor(key));
+         int[] expected = Selector.range(arr, key, key + 40);
+         java.util.Arrays.sort(expected);
+         Assert.assertArrayEquals(expected, index.range(key, key + 40));
+         Assert.assertEquals(expected.length,
+                             index.rangeView(key, key + 40).size());
+      }
+   }
+
+   /** A test. **/
+   @Test public void testIndex_exceptions() {
+      SortedIntIndex index = new SortedIntIndex(new int[] {4, 4, 2});
+      Assert.assertEquals(2, index.count(4));
+      assertThrows(() -> index.kmin(3));
+      assertThrows(() -> index.kmax(0));
+      assertThrows(() -> index.ceiling(5));
+      assertThrows(() -> index.floor(1));
+      assertThrows(() -> new SortedIntIndex(new int[0]));
+      assertThrows(() -> new SortedIntIndex(null));
+   }
+
+   /** A test. **/
+   @Test public void testParallel_matchesSequential() {
+      int[] arr = random(5000, 2000, 4);
+      for (int threshold : new int[] {1, 7, 100, 1 << 20}) {
+         Assert.assertEquals(Selector.min(arr),
+                             Selector.parallelMin(arr, threshold));
+         Assert.assertEquals(Selector.max(arr),
+                             Selector.parallelMax(arr, threshold));
+         for (int k = 1; k < 1500; k += 149) {
+            Assert.assertEquals(Selector.kmin(arr, k),
+                                Selector.parallelKmin(arr, k, threshold));
+            Assert.assertEquals(Selector.kmax(arr, k),
+                                Selector.parallelKmax(arr, k, threshold));
+         }
+         for (int key = -999; key < 1000; key += 111) {
+            Assert.assertEquals(Selector.ceiling(arr, key),
+                                Selector.parallelCeiling(arr, key, threshold));
+            Assert.assertEquals(Selector.floor(arr, key),
+                                Selector.parallelFloor(arr, key, threshold));
+            Assert.assertArrayEquals(Selector.range(arr, key, key + 50),
+               Selector.parallelRange(arr, key, key + 50, threshold));
+         }
+      }
+      Assert.assertEquals(Selector.kmin(arr, 3), Selector.parallelKmin(arr, 3));
+   }
+
+   /** A test. **/
+   @Test public void testParallel_exceptions() {
+      int[] arr = {5, 1, 5, 3};
+      assertThrows(() -> Selector.parallelMin(arr, 0));
+      assertThrows(() -> Selector.parallelRange(arr, 1, 5, -1));
+      assertThrows(() -> Selector.parallelMin(new int[0], 1));
+      assertThrows(() -> Selector.parallelMax(null, 1));
+      assertThrows(() -> Selector.parallelKmin(arr, 4, 1));
+      assertThrows(() -> Selector.parallelKmax(arr, 0, 1));
+      assertThrows(() -> Selector.parallelCeiling(arr, 6, 1));
+      assertThrows(() -> Selector.parallelFloor(arr, 0, 1));
+      Assert.assertEquals(0, Selector.parallelRange(arr, 4, 2, 1).length);
+   }
+
+   /** A test. **/
+   @Test public void testQuery_matchesSelector() {
+      int[] arr = random(1000, 400, 5);
+      for (int key = -200; key < 200; key += 17) {
+         SelectorQuery.Result r = new SelectorQuery().min().max()
+            .ceiling(key).floor(key + 3).rangeCount(key, key + 30)
+            .evaluate(arr);
+         Assert.assertEquals(Selector.min(arr), r.min());
+         Assert.assertEquals(Selector.max(arr), r.max());
+         Assert.assertEquals(Selector.ceiling(arr, key), r.ceiling());
+         Assert.assertEquals(Selector.floor(arr, key + 3), r.floor());
+         Assert.assertEquals(Selector.range(arr, key, key + 30).length,
+                             r.rangeCount());
+      }
+      Assert.assertEquals(0, new SelectorQuery().rangeCount(5, 4)
+                          .evaluate(arr).rangeCount());
+   }
+
+   /** A test. **/
+   @Test public void testQuery_exceptions() {
+      SelectorQuery.Result r = new SelectorQuery().ceiling(10).floor(0)
+         .evaluate(new int[] {3, 1, 3});
+      assertThrows(() -> r.ceiling());
+      assertThrows(() -> r.floor());
+      try {
+         r.min();
+         Assert.fail("expected IllegalStateException");
+      }
+      catch (IllegalStateException e) {
+         Assert.assertNotNull(e.getMessage());
+      }
+      assertThrows(() -> new SelectorQuery().min().evaluate(new int[0]));
+      assertThrows(() -> new SelectorQuery().min().evaluate(null));
+   }
+
+   /** A test. **/
+   @Test public void testStreaming_matchesSelector() {
+      int[] arr = random(3000, 1000, 6);
+      StreamingSelector s = new StreamingSelector();
+      s.addAll(java.util.Arrays.copyOf(arr, 1000));
+      for (int i = 1000; i < arr.length; i++) {
+         s.add(arr[i]);
+      }
+      Assert.assertEquals(arr.length, s.size());
+      Assert.assertEquals(Selector.min(arr), s.min());
+      Assert.assertEquals(Selector.max(arr), s.max());
+      for (int k = 1; k <= s.distinct(); k += 37) {
+         Assert.assertEquals(Selector.kmin(arr, k), s.kmin(k));
+         Assert.assertEquals(Selector.kmax(arr, k), s.kmax(k));
+      }
+      for (int key = -500; key < 500; key += 23) {
+         Assert.assertEquals(Selector.ceiling(arr, key), s.ceiling(key));
+         Assert.assertEquals(Selector.floor(arr, key), s.floor(key));
+      }
+   }
+
+   /** A test. **/
+   @Test public void testStreaming_exceptions() {
+      StreamingSelector s = new StreamingSelector();
+      assertThrows(() -> s.min());
+      assertThrows(() -> s.kmax(1));
+      assertThrows(() -> s.addAll(null));
+      s.add(4);
+      s.add(4);
+      Assert.assertEquals(1, s.distinct());
+      assertThrows(() -> s.kmin(2));
+      assertThrows(() -> s.ceiling(5));
+      assertThrows(() -> s.floor(3));
+   }
+
+   /** A test. **/
+   @Test public void testSketch_errorBound() {
+      int[] arr = random(200000, 1 << 30, 7);
+      IntQuantileSketch sketch = new IntQuantileSketch();
+      sketch.update(arr);
+      assertWithinBound(sketch, arr);
+   }
+
+   /** A test. **/
+   @Test public void testSketch_merge() {
+      int[] arr = random(200000, 1 << 30, 8);
+      IntQuantileSketch left = new IntQuantileSketch();
+      IntQuantileSketch right = new IntQuantileSketch();
+      left.update(java.util.Arrays.copyOf(arr, 50000));
+      right.update(java.util.Arrays.copyOfRange(arr, 50000, arr.length));
+      left.merge(right);
+      Assert.assertEquals(arr.length, left.size());
+      assertWithinBound(left, arr);
+   }
+
+   /** A test. **/
+   @Test public void testSketch_exceptions() {
+      IntQuantileSketch sketch = new IntQuantileSketch();
+      assertThrows(() -> sketch.min());
+      assertThrows(() -> sketch.kmin(1));
+      assertThrows(() -> sketch.update(null));
+      assertThrows(() -> sketch.merge(null));
+      assertThrows(() -> new IntQuantileSketch(1));
+      sketch.update(new int[] {3, 3, 9});
+      Assert.assertEquals(3, sketch.kmin(2));
+      assertThrows(() -> sketch.kmax(4));
+      assertThrows(() -> sketch.kmin(0));
+   }
+
+   /**
+    * Fails unless sketch, built over arr, has exact extremes and every
+    * rank and selection it estimates is within 2% of arr.length.
+    *
+    * @param sketch the sketch
+    * @param arr the values added to it
+    */
+   private static void assertWithinBound(IntQuantileSketch sketch,
+                                         int[] arr) {
+      int[] sorted = arr.clone();
+      java.util.Arrays.sort(sorted);
+      int n = sorted.length;
+      long bound = n / 50;
+      Assert.assertEquals(sorted[0], sketch.min());
+      Assert.assertEquals(sorted[n - 1], sketch.max());
+      for (int q = 1; q < 100; q++) {
+         int v = sorted[(int) ((long) n * q / 100)];
+         long rank = upperBound(sorted, v);
+         Assert.assertTrue(Math.abs(sketch.rank(v) - rank) <= bound);
+         long k = (long) n * q / 100;
+         long got = upperBound(sorted, sketch.kmin(k));
+         Assert.assertTrue(Math.abs(got - k) <= bound);
+         got = n - upperBound(sorted, sketch.kmax(k) - 1);
+         Assert.assertTrue(Math.abs(got - k) <= bound);
+      }
+   }
+
+   /**
+    * Returns the number of values in sorted that are at most v.
+    *
+    * @param sorted values in ascending order
+    * @param v number
+    * @return exact rank of v
+    */
+   private static int upperBound(int[] sorted, int v) {
+      int lo = 0;
+      int hi = sorted.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (sorted[mid] <= v) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+   /**
+    * Returns n values drawn uniformly from [-bound/2, bound/2).
+    *
+    * @param n number of values
+    * @param bound width of the value range
+    * @param seed random seed
+    * @return the values
+    */
+   private static int[] random(int n, int bound, long seed) {
+      java.util.Random rnd = new java.util.Random(seed);
+      int[] a = new int[n];
+      for (int i = 0; i < n; i++) {
+         a[i] = rnd.nextInt(bound) - bound / 2;
+      }
+      return a;
+   }
+
+   /**
+    * Fails unless body throws IllegalArgumentException.
+    *
+    * @param body the call expected to throw
+    */
+   private static void assertThrows(Runnable body) {
+      try {
+         body.run();
+      }
+      catch (IllegalArgumentException e) {
+         return;
+      }
+      Assert.fail("expected IllegalArgumentException");
+   }
 }
@@ -0,0 +1,309 @@
+import java.util.Arrays;
+
+/**
+ * SortedIntIndex.java.
+ * A preprocessed, immutable view of an int array for answering many
+ * Selector-style queries against the same data. The array is sorted and
+ * deduplicated once, keeping the number of occurrences of each distinct
+ * value, so that ceiling and floor take O(log n), range takes two binary
+ * searches, and kmin and kmax take O(1). Queries throw
+ * IllegalArgumentException when there is no qualifying value, as the
+ * corresponding Selector methods do.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+public final class SortedIntIndex {
+
+   /** distinct values in ascending order. */
+   private final int[] values;
+
+   /** ends[i] is the number of source values less than or equal to
+       values[i]. */
+   private final int[] ends;
+
+   /**
+    * Builds an index over the values in a. This constructor throws
+    * IllegalArgumentException if a is null or has zero length. The
+    * array a is not changed.
+    *
+    * @param a array
+    */
+   public SortedIntIndex(int[] a) {
+      if (a == null || a.length == 0) {
+         throw new IllegalArgumentException();
+      }
+      int[] b = Arrays.copyOf(a, a.length);
+      Arrays.sort(b);
+      int[] c = new int[b.length];
+      int n = 0;
+      for (int i = 0; i < b.length; i++) {
+         if (n == 0 || b[i] != b[n - 1]) {
+            b[n++] = b[i];
+         }
+         c[n - 1] = i + 1;
+      }
+      values = Arrays.copyOf(b, n);
+      ends = Arrays.copyOf(c, n);
+   }
+
+   /**
+    * Returns the number of values, including duplicates, in this index.
+    *
+    * @return number of values
+    */
+   public int size() {
+      return ends[ends.length - 1];
+   }
+
+   /**
+    * Returns the number of distinct values in this index.
+    *
+    * @return number of distinct values
+    */
+   public int distinct() {
+      return values.length;
+   }
+
+   /**
+    * Returns the number of times key occurs in this index.
+    *
+    * @param key number
+    * @return number of occurrences of key
+    */
+   public int count(int key) {
+      int i = Arrays.binarySearch(values, key);
+      if (i < 0) {
+         return 0;
+      }
+      return ends[i] - start(i);
+   }
+
+   /**
+    * Returns the minimum value in this index.
+    *
+    * @return The minimum value
+    */
+   public int min() {
+      return values[0];
+   }
+
+   /**
+    * Returns the maximum value in this index.
+    *
+    * @return The maximum value
+    */
+   public int max() {
+      return values[values.length - 1];
+   }
+
+   /**
+    * Returns the kth minimum distinct value in this index. This method
+    * throws IllegalArgumentException if there is no kth minimum value.
+    *
+    * @param k number
+    * @return The kth minimum value
+    */
+   public int kmin(int k) {
+      if (k < 1 || k > values.length) {
+         throw new IllegalArgumentException();
+      }
+      return values[k - 1];
+   }
+
+   /**
+    * Returns the kth maximum distinct value in this index. This method
+    * throws IllegalArgumentException if there is no kth maximum value.
+    *
+    * @param k number
+    * @return The kth maximum value
+    */
+   public int kmax(int k) {
+      if (k < 1 || k > values.length) {
+         throw new IllegalArgumentException();
+      }
+      return values[values.length - k];
+   }
+
+   /**
+    * Returns the smallest value in this index that is greater than or equal
+    * to key. This method throws IllegalArgumentException if there is no
+    * qualifying value.
+    *
+    * @param key number
+    * @return The ceiling of key
+    */
+   public int ceiling(int key) {
+      int i = lowerBound(key);
+      if (i == values.length) {
+         throw new IllegalArgumentException();
+      }
+      return values[i];
+   }
+
+   /**
+    * Returns the largest value in this index that is less than or equal
+    * to key. This method throws IllegalArgumentException if there is no
+    * qualifying value.
+    *
+    * @param key number
+    * @return The floor of key
+    */
+   public int floor(int key) {
+      int i = upperBound(key) - 1;
+      if (i < 0) {
+         throw new IllegalArgumentException();
+      }
+      return values[i];
+   }
+
+   /**
+    * Returns a new array containing all the values in the range
+    * [low..high], including duplicates, in ascending order. If there are
+    * no qualifying values, this method returns a zero-length array.
+    *
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return The values in the range [low..high]
+    */
+   public int[] range(int low, int high) {
+      return rangeView(low, high).toArray();
+   }
+
+   /**
+    * Returns a view of the values in the range [low..high] that shares
+    * this index's storage. No values are copied until the view's toArray
+    * method is called.
+    *
+    * @param low The lower boundary of the interval
+    * @param high The upper boundary of the interval
+    * @return a view of the values in the range [low..high]
+    */
+   public Range rangeView(int low, int high) {
+      int from = lowerBound(low);
+      int to = upperBound(high);
+      if (to < from) {
+         to = from;
+      }
+      return new Range(from, to);
+   }
+
+   /**
+    * Returns the number of source values at positions before distinct
+    * index i.
+    *
+    * @param i distinct index
+    * @return number of values less than values[i]
+    */
+   private int start(int i) {
+      return (i == 0) ? 0 : ends[i - 1];
+   }
+
+   /**
+    * Returns the first distinct index whose value is >= key.
+    *
+    * @param key number
+    * @return index in [0..values.length]
+    */
+   private int lowerBound(int key) {
+      int i = Arrays.binarySearch(values, key);
+      return (i >= 0) ? i : -(i + 1);
+   }
+
+   /**
+    * Returns the first distinct index whose value is > key.
+    *
+    * @param key number
+    * @return index in [0..values.length]
+    */
+   private int upperBound(int key) {
+      int i = Arrays.binarySearch(values, key);
+      return (i >= 0) ? i + 1 : -(i + 1);
+   }
+
+   /**
+    * A read-only, ascending view of a contiguous run of an index's values.
+    */
+   public final class Range {
+
+      /** first distinct index in the view, inclusive. */
+      private final int from;
+
+      /** last distinct index in the view, exclusive. */
+      private final int to;
+
+      /**
+       * Creates a view over the distinct indexes [from..to).
+       *
+       * @param from first distinct index, inclusive
+       * @param to last distinct index, exclusive
+       */
+      private Range(int from, int to) {
+         this.from = from;
+         this.to = to;
+      }
+
+      /**
+       * Returns the number of values, including duplicates, in this view.
+       *
+       * @return number of values
+       */
+      public int size() {
+         return (from == to) ? 0 : ends[to - 1] - start(from);
+      }
+
+      /**
+       * Returns the number of distinct values in this view.
+       *
+       * @return number of distinct values
+       */
+      public int distinct() {
+         return to - from;
+      }
+
+      /**
+       * Returns the ith value, counting duplicates, in this view. This
+       * method throws IndexOutOfBoundsException if i is not in
+       * [0..size()).
+       *
+       * @param i position in the view
+       * @return the value at position i
+       */
+      public int get(int i) {
+         if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException();
+         }
+         int target = start(from) + i;
+         int lo = from;
+         int hi = to - 1;
+         while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ends[mid] <= target) {
+               lo = mid + 1;
+            }
+            else {
+               hi = mid;
+            }
+         }
+         return values[lo];
+      }
+
+      /**
+       * Returns a new array containing the values in this view.
+       *
+       * @return the values in this view, in ascending order
+       */
+      public int[] toArray() {
+         int[] ret = new int[size()];
+         int j = 0;
+         for (int i = from; i < to; i++) {
+            int stop = j + ends[i] - start(i);
+            Arrays.fill(ret, j, stop, values[i]);
+            j = stop;
+         }
+         return ret;
+      }
+   }
+
+}
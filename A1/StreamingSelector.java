@@ -0,0 +1,344 @@
+import java.util.Arrays;
+
+/**
+ * StreamingSelector.java.
+ * Maintains order statistics over a stream of ints that arrives one value
+ * (or one batch) at a time. Distinct values are kept in a treap stored in
+ * one primitive array, four ints per node so that visiting a node touches
+ * a single cache line, with each node recording the number of distinct
+ * values in its subtree, so that add, min, max, ceiling, floor,
+ * kmin and kmax each take expected O(log n) time. Queries throw
+ * IllegalArgumentException in the same situations as the corresponding
+ * Selector methods: when no values have been added or when there is no
+ * qualifying value.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+public final class StreamingSelector {
+
+   /** offset of the empty subtree; real nodes start at STRIDE. */
+   private static final int NIL = 0;
+
+   /** ints per node, and the offsets of each field within a node. */
+   private static final int STRIDE = 4;
+   private static final int KEY = 0;
+   private static final int LEFT = 1;
+   private static final int RIGHT = 2;
+   private static final int SIZE = 3;
+
+   /** node storage; a node is identified by the offset of its first int. */
+   private int[] tree;
+
+   /** index of the root node. */
+   private int root;
+
+   /** number of nodes (distinct values) in the treap. */
+   private int nodes;
+
+   /** number of values added, including duplicates. */
+   private long count;
+
+   /**
+    * Creates an empty selector.
+    *
+    */
+   public StreamingSelector() {
+      tree = new int[16 * STRIDE];
+      root = NIL;
+   }
+
+   /**
+    * Adds the value v.
+    *
+    * @param v value to add
+    */
+   public void add(int v) {
+      count++;
+      root = insert(root, v);
+   }
+
+   /**
+    * Adds every value in a. This method throws IllegalArgumentException if
+    * a is null.
+    *
+    * @param a values to add
+    */
+   public void addAll(int[] a) {
+      if (a == null) {
+         throw new IllegalArgumentException();
+      }
+      for (int i = 0; i < a.length; i++) {
+         add(a[i]);
+      }
+   }
+
+   /**
+    * Returns the number of values added, including duplicates.
+    *
+    * @return number of values added
+    */
+   public long size() {
+      return count;
+   }
+
+   /**
+    * Returns the number of distinct values added.
+    *
+    * @return number of distinct values
+    */
+   public int distinct() {
+      return nodes;
+   }
+
+   /**
+    * Returns the minimum value added so far.
+    *
+    * @return The minimum value
+    */
+   public int min() {
+      checkEmpty();
+      int n = root;
+      while (tree[n + LEFT] != NIL) {
+         n = tree[n + LEFT];
+      }
+      return tree[n + KEY];
+   }
+
+   /**
+    * Returns the maximum value added so far.
+    *
+    * @return The maximum value
+    */
+   public int max() {
+      checkEmpty();
+      int n = root;
+      while (tree[n + RIGHT] != NIL) {
+         n = tree[n + RIGHT];
+      }
+      return tree[n + KEY];
+   }
+
+   /**
+    * Returns the kth minimum distinct value added so far. This method
+    * throws IllegalArgumentException if there is no kth minimum value.
+    *
+    * @param k number
+    * @return The kth minimum value
+    */
+   public int kmin(int k) {
+      checkEmpty();
+      if (k < 1 || k > nodes) {
+         throw new IllegalArgumentException();
+      }
+      return select(k - 1);
+   }
+
+   /**
+    * Returns the kth maximum distinct value added so far. This method
+    * throws IllegalArgumentException if there is no kth maximum value.
+    *
+    * @param k number
+    * @return The kth maximum value
+    */
+   public int kmax(int k) {
+      checkEmpty();
+      if (k < 1 || k > nodes) {
+         throw new IllegalArgumentException();
+      }
+      return select(nodes - k);
+   }
+
+   /**
+    * Returns the smallest value added so far that is greater than or equal
+    * to k. This method throws IllegalArgumentException if there is no
+    * qualifying value.
+    *
+    * @param k number
+    * @return The smallest value greater than or equal to k
+    */
+   public int ceiling(int k) {
+      checkEmpty();
+      int n = root;
+      int found = NIL;
+      while (n != NIL) {
+         if (tree[n + KEY] == k) {
+            return k;
+         }
+         else if (tree[n + KEY] > k) {
+            found = n;
+            n = tree[n + LEFT];
+         }
+         else {
+            n = tree[n + RIGHT];
+         }
+      }
+      if (found == NIL) {
+         throw new IllegalArgumentException();
+      }
+      return tree[found + KEY];
+   }
+
+   /**
+    * Returns the largest value added so far that is less than or equal to
+    * k. This method throws IllegalArgumentException if there is no
+    * qualifying value.
+    *
+    * @param k number
+    * @return The largest value less than or equal to k
+    */
+   public int floor(int k) {
+      checkEmpty();
+      int n = root;
+      int found = NIL;
+      while (n != NIL) {
+         if (tree[n + KEY] == k) {
+            return k;
+         }
+         else if (tree[n + KEY] < k) {
+            found = n;
+            n = tree[n + RIGHT];
+         }
+         else {
+            n = tree[n + LEFT];
+         }
+      }
+      if (found == NIL) {
+         throw new IllegalArgumentException();
+      }
+      return tree[found + KEY];
+   }
+
+   /**
+    * Throws IllegalArgumentException if no values have been added.
+    */
+   private void checkEmpty() {
+      if (root == NIL) {
+         throw new IllegalArgumentException();
+      }
+   }
+
+   /**
+    * Returns the distinct value with the given zero-based rank.
+    *
+    * @param rank zero-based rank, in [0..nodes)
+    * @return the value of that rank
+    */
+   private int select(int rank) {
+      int n = root;
+      while (true) {
+         int l = tree[tree[n + LEFT] + SIZE];
+         if (rank < l) {
+            n = tree[n + LEFT];
+         }
+         else if (rank == l) {
+            return tree[n + KEY];
+         }
+         else {
+            rank -= l + 1;
+            n = tree[n + RIGHT];
+         }
+      }
+   }
+
+   /**
+    * Inserts v into the subtree rooted at n, if absent, and returns the
+    * new root of that subtree.
+    *
+    * @param n subtree root
+    * @param v value to insert
+    * @return new subtree root
+    */
+   private int insert(int n, int v) {
+      if (n == NIL) {
+         return newNode(v);
+      }
+      if (v < tree[n + KEY]) {
+         int c = insert(tree[n + LEFT], v);
+         tree[n + LEFT] = c;
+         if (priority(c) > priority(n)) {
+            n = rotateRight(n);
+         }
+      }
+      else if (v > tree[n + KEY]) {
+         int c = insert(tree[n + RIGHT], v);
+         tree[n + RIGHT] = c;
+         if (priority(c) > priority(n)) {
+            n = rotateLeft(n);
+         }
+      }
+      update(n);
+      return n;
+   }
+
+   /**
+    * Allocates a leaf node holding v.
+    *
+    * @param v value of the node
+    * @return offset of the new node
+    */
+   private int newNode(int v) {
+      int n = ++nodes * STRIDE;
+      if (n == tree.length) {
+         tree = Arrays.copyOf(tree, tree.length * 2);
+      }
+      tree[n + KEY] = v;
+      tree[n + LEFT] = NIL;
+      tree[n + RIGHT] = NIL;
+      tree[n + SIZE] = 1;
+      return n;
+   }
+
+   /**
+    * Rotates the left child of n above it.
+    *
+    * @param n subtree root
+    * @return new subtree root
+    */
+   private int rotateRight(int n) {
+      int l = tree[n + LEFT];
+      tree[n + LEFT] = tree[l + RIGHT];
+      tree[l + RIGHT] = n;
+      update(n);
+      return l;
+   }
+
+   /**
+    * Rotates the right child of n above it.
+    *
+    * @param n subtree root
+    * @return new subtree root
+    */
+   private int rotateLeft(int n) {
+      int r = tree[n + RIGHT];
+      tree[n + RIGHT] = tree[r + LEFT];
+      tree[r + LEFT] = n;
+      update(n);
+      return r;
+   }
+
+   /**
+    * Recomputes the subtree size of n from its children.
+    *
+    * @param n node
+    */
+   private void update(int n) {
+      tree[n + SIZE] = tree[tree[n + LEFT] + SIZE]
+                          + tree[tree[n + RIGHT] + SIZE] + 1;
+   }
+
+   /**
+    * Returns the heap priority of node n. Priorities only need to look
+    * random, so they are derived by hashing the node offset rather than
+    * being stored.
+    *
+    * @param n node
+    * @return priority of n
+    */
+   private static int priority(int n) {
+      int h = n * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+}
@@ -0,0 +1,921 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Defines the selection methods of Selector for arrays of longs and
+ * doubles, and for Collections ordered by a primitive key, without boxing
+ * any value or calling a Comparator. Keys are extracted once into a
+ * primitive array and every comparison after that is a primitive one.
+ *
+ * The contract of each method is that of the Selector method of the same
+ * name: a null argument gives an IllegalArgumentException, an empty input
+ * or a missing value gives a NoSuchElementException, and no input is
+ * changed. Equal values count as a single distinct value in kmin and kmax.
+ * Doubles are ordered as by Double.compare, so -0.0 is below 0.0 and NaN
+ * is above every other value.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+public final class PrimitiveSelector {
+
+/**
+ * Can't instantiate this class.
+ *
+ */
+   private PrimitiveSelector() { }
+
+
+   /*************************************************************************/
+   /**********************************LONG***********************************/
+   /*************************************************************************/
+
+   /**
+    * Selects the minimum value in the array a.
+    *
+    * @param a       the array from which the minimum is selected
+    * @return        the minimum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty
+    */
+   public static long min(long[] a) {
+      check(a);
+      long min = a[0];
+      for (int i = 1; i < a.length; i++) {
+         min = Math.min(min, a[i]);
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value in the array a.
+    *
+    * @param a       the array from which the maximum is selected
+    * @return        the maximum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty
+    */
+   public static long max(long[] a) {
+      check(a);
+      long max = a[0];
+      for (int i = 1; i < a.length; i++) {
+         max = Math.max(max, a[i]);
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum distinct value in the array a.
+    *
+    * @param a       the array from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @return        the kth minimum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or has fewer
+    *                than k distinct values
+    */
+   public static long kmin(long[] a, int k) {
+      check(a, k);
+      long[] copy = a.clone();
+      Arrays.sort(copy);
+      return copy[kth(copy, k, true)];
+   }
+
+
+   /**
+    * Selects the kth maximum distinct value in the array a.
+    *
+    * @param a       the array from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @return        the kth maximum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or has fewer
+    *                than k distinct values
+    */
+   public static long kmax(long[] a, int k) {
+      check(a, k);
+      long[] copy = a.clone();
+      Arrays.sort(copy);
+      return copy[kth(copy, k, false)];
+   }
+
+
+   /**
+    * Returns a new array of the values in a that are greater than or equal
+    * to low and less than or equal to high, in their order in a.
+    *
+    * @param a       the array from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @return        an array of values between low and high
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static long[] range(long[] a, long low, long high) {
+      check(a);
+      int count = 0;
+      for (int i = 0; i < a.length; i++) {
+         count += (a[i] >= low && a[i] <= high) ? 1 : 0;
+      }
+
+      // no qualifying value
+      if (count == 0) {
+         throw new NoSuchElementException("no vals");
+      }
+
+      long[] copy = new long[count];
+      int j = 0;
+      for (int i = 0; i < a.length && j < count; i++) {
+         if (a[i] >= low && a[i] <= high) {
+            copy[j++] = a[i];
+         }
+      }
+      return copy;
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to key.
+    *
+    * @param a       the array from which the ceiling value is selected
+    * @param key     the reference value
+    * @return        the ceiling value of key in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static long ceiling(long[] a, long key) {
+      check(a);
+      int at = ceilingIndex(a, key);
+      if (at < 0) {
+         throw new NoSuchElementException("no vals");
+      }
+      return a[at];
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to key.
+    *
+    * @param a       the array from which the floor value is selected
+    * @param key     the reference value
+    * @return        the floor value of key in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static long floor(long[] a, long key) {
+      check(a);
+      int at = floorIndex(a, key);
+      if (at < 0) {
+         throw new NoSuchElementException("no vals");
+      }
+      return a[at];
+   }
+
+
+   /*************************************************************************/
+   /*********************************DOUBLE**********************************/
+   /*************************************************************************/
+
+   /**
+    * Selects the minimum value in the array a.
+    *
+    * @param a       the array from which the minimum is selected
+    * @return        the minimum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty
+    */
+   public static double min(double[] a) {
+      check(a);
+      double min = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (Double.compare(a[i], min) < 0) {
+            min = a[i];
+         }
+      }
+      return min;
+   }
+
+
+   /**
+    * Selects the maximum value in the array a.
+    *
+    * @param a       the array from which the maximum is selected
+    * @return        the maximum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty
+    */
+   public static double max(double[] a) {
+      check(a);
+      double max = a[0];
+      for (int i = 1; i < a.length; i++) {
+         if (Double.compare(a[i], max) > 0) {
+            max = a[i];
+         }
+      }
+      return max;
+   }
+
+
+   /**
+    * Selects the kth minimum distinct value in the array a.
+    *
+    * @param a       the array from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @return        the kth minimum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or has fewer
+    *                than k distinct values
+    */
+   public static double kmin(double[] a, int k) {
+      check(a, k);
+      double[] copy = a.clone();
+      Arrays.sort(copy);
+      return copy[kth(copy, k, true)];
+   }
+
+
+   /**
+    * Selects the kth maximum distinct value in the array a.
+    *
+    * @param a       the array from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @return        the kth maximum value in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or has fewer
+    *                than k distinct values
+    */
+   public static double kmax(double[] a, int k) {
+      check(a, k);
+      double[] copy = a.clone();
+      Arrays.sort(copy);
+      return copy[kth(copy, k, false)];
+   }
+
+
+   /**
+    * Returns a new array of the values in a that are greater than or equal
+    * to low and less than or equal to high, in their order in a.
+    *
+    * @param a       the array from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @return        an array of values between low and high
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static double[] range(double[] a, double low, double high) {
+      check(a);
+      int count = 0;
+      for (int i = 0; i < a.length; i++) {
+         count += in(a[i], low, high) ? 1 : 0;
+      }
+
+      // no qualifying value
+      if (count == 0) {
+         throw new NoSuchElementException("no vals");
+      }
+
+      double[] copy = new double[count];
+      int j = 0;
+      for (int i = 0; i < a.length && j < count; i++) {
+         if (in(a[i], low, high)) {
+            copy[j++] = a[i];
+         }
+      }
+      return copy;
+   }
+
+
+   /**
+    * Returns the smallest value in a that is greater than or equal to key.
+    *
+    * @param a       the array from which the ceiling value is selected
+    * @param key     the reference value
+    * @return        the ceiling value of key in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static double ceiling(double[] a, double key) {
+      check(a);
+      boolean cond = false;
+      double ceil = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (Double.compare(a[i], key) >= 0
+               && (!cond || Double.compare(a[i], ceil) < 0)) {
+            ceil = a[i];
+            cond = true;
+         }
+      }
+
+      // no qualifying value
+      if (!cond) {
+         throw new NoSuchElementException("no vals");
+      }
+      return ceil;
+   }
+
+
+   /**
+    * Returns the largest value in a that is less than or equal to key.
+    *
+    * @param a       the array from which the floor value is selected
+    * @param key     the reference value
+    * @return        the floor value of key in a
+    * @throws        IllegalArgumentException if a is null
+    * @throws        NoSuchElementException if a is empty or no value
+    *                qualifies
+    */
+   public static double floor(double[] a, double key) {
+      check(a);
+      boolean cond = false;
+      double floor = 0;
+      for (int i = 0; i < a.length; i++) {
+         if (Double.compare(a[i], key) <= 0
+               && (!cond || Double.compare(a[i], floor) > 0)) {
+            floor = a[i];
+            cond = true;
+         }
+      }
+
+      // no qualifying value
+      if (!cond) {
+         throw new NoSuchElementException("no vals");
+      }
+      return floor;
+   }
+
+
+   /*************************************************************************/
+   /******************************KEYED BY LONG******************************/
+   /*************************************************************************/
+
+   /**
+    * Selects the element of coll with the minimum key. Of several elements
+    * with that key the first in coll's iteration order is returned, as
+    * Selector.min would.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the minimum is selected
+    * @param key     extracts the primitive key of an element
+    * @return        the element of coll with the minimum key
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty
+    */
+   public static <T> T minByLong(Collection<T> coll,
+                                 ToLongFunction<? super T> key) {
+      long[] keys = keys(coll, key);
+      int at = 0;
+      for (int i = 1; i < keys.length; i++) {
+         if (keys[i] < keys[at]) {
+            at = i;
+         }
+      }
+      return element(coll, at);
+   }
+
+
+   /**
+    * Selects the element of coll with the maximum key. Of several elements
+    * with that key the first in coll's iteration order is returned, as
+    * Selector.max would.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the maximum is selected
+    * @param key     extracts the primitive key of an element
+    * @return        the element of coll with the maximum key
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty
+    */
+   public static <T> T maxByLong(Collection<T> coll,
+                                 ToLongFunction<? super T> key) {
+      long[] keys = keys(coll, key);
+      int at = 0;
+      for (int i = 1; i < keys.length; i++) {
+         if (keys[i] > keys[at]) {
+            at = i;
+         }
+      }
+      return element(coll, at);
+   }
+
+
+   /**
+    * Selects the first element of coll, in iteration order, whose key is
+    * the kth minimum distinct key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @param key     extracts the primitive key of an element
+    * @return        an element of coll with the kth minimum key
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty or has fewer
+    *                than k distinct keys
+    */
+   public static <T> T kminByLong(Collection<T> coll, int k,
+                                  ToLongFunction<? super T> key) {
+      long[] keys = keys(coll, key);
+      check(keys, k);
+      long[] sorted = keys.clone();
+      Arrays.sort(sorted);
+      return element(coll, indexOf(keys, sorted[kth(sorted, k, true)]));
+   }
+
+
+   /**
+    * Selects the first element of coll, in iteration order, whose key is
+    * the kth maximum distinct key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @param key     extracts the primitive key of an element
+    * @return        an element of coll with the kth maximum key
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty or has fewer
+    *                than k distinct keys
+    */
+   public static <T> T kmaxByLong(Collection<T> coll, int k,
+                                  ToLongFunction<? super T> key) {
+      long[] keys = keys(coll, key);
+      check(keys, k);
+      long[] sorted = keys.clone();
+      Arrays.sort(sorted);
+      return element(coll, indexOf(keys, sorted[kth(sorted, k, false)]));
+   }
+
+
+   /**
+    * Returns a new Collection of the elements of coll whose keys are
+    * greater than or equal to low and less than or equal to high, in
+    * coll's iteration order.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the key range
+    * @param high    the upper bound of the key range
+    * @param key     extracts the primitive key of an element
+    * @return        a Collection of elements with keys in [low..high]
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty or no element
+    *                qualifies
+    */
+   public static <T> Collection<T> rangeByLong(Collection<T> coll,
+                                               long low, long high,
+                                               ToLongFunction<? super T> key) {
+      long[] keys = keys(coll, key);
+      int count = 0;
+      for (int i = 0; i < keys.length; i++) {
+         count += (keys[i] >= low && keys[i] <= high) ? 1 : 0;
+      }
+
+      // no qualifying value
+      if (count == 0) {
+         throw new NoSuchElementException("no vals");
+      }
+
+      Collection<T> copy = new ArrayList<T>(count);
+      int i = 0;
+      for (T val : coll) {
+         if (keys[i] >= low && keys[i] <= high) {
+            copy.add(val);
+         }
+         i++;
+      }
+      return copy;
+   }
+
+
+   /**
+    * Returns the element of coll with the smallest key that is greater than
+    * or equal to value. Of several elements with that key the last in
+    * coll's iteration order is returned, as Selector.ceiling would.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the ceiling value is selected
+    * @param value   the reference key
+    * @param key     extracts the primitive key of an element
+    * @return        the element with the ceiling key of value
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty or no element
+    *                qualifies
+    */
+   public static <T> T ceilingByLong(Collection<T> coll, long value,
+                                     ToLongFunction<? super T> key) {
+      int at = ceilingIndex(keys(coll, key), value);
+      if (at < 0) {
+         throw new NoSuchElementException("no vals");
+      }
+      return element(coll, at);
+   }
+
+
+   /**
+    * Returns the element of coll with the largest key that is less than or
+    * equal to value. Of several elements with that key the last in coll's
+    * iteration order is returned, as Selector.floor would.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the floor value is selected
+    * @param value   the reference key
+    * @param key     extracts the primitive key of an element
+    * @return        the element with the floor key of value
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty or no element
+    *                qualifies
+    */
+   public static <T> T floorByLong(Collection<T> coll, long value,
+                                   ToLongFunction<? super T> key) {
+      int at = floorIndex(keys(coll, key), value);
+      if (at < 0) {
+         throw new NoSuchElementException("no vals");
+      }
+      return element(coll, at);
+   }
+
+
+   /*************************************************************************/
+   /******************************KEYED BY INT*******************************/
+   /*************************************************************************/
+
+   /**
+    * As minByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the minimum is selected
+    * @param key     extracts the primitive key of an element
+    * @return        the element of coll with the minimum key
+    */
+   public static <T> T minByInt(Collection<T> coll,
+                                ToIntFunction<? super T> key) {
+      return minByLong(coll, widen(key));
+   }
+
+
+   /**
+    * As maxByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the maximum is selected
+    * @param key     extracts the primitive key of an element
+    * @return        the element of coll with the maximum key
+    */
+   public static <T> T maxByInt(Collection<T> coll,
+                                ToIntFunction<? super T> key) {
+      return maxByLong(coll, widen(key));
+   }
+
+
+   /**
+    * As kminByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @param key     extracts the primitive key of an element
+    * @return        an element of coll with the kth minimum key
+    */
+   public static <T> T kminByInt(Collection<T> coll, int k,
+                                 ToIntFunction<? super T> key) {
+      return kminByLong(coll, k, widen(key));
+   }
+
+
+   /**
+    * As kmaxByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @param key     extracts the primitive key of an element
+    * @return        an element of coll with the kth maximum key
+    */
+   public static <T> T kmaxByInt(Collection<T> coll, int k,
+                                 ToIntFunction<? super T> key) {
+      return kmaxByLong(coll, k, widen(key));
+   }
+
+
+   /**
+    * As rangeByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the key range
+    * @param high    the upper bound of the key range
+    * @param key     extracts the primitive key of an element
+    * @return        a Collection of elements with keys in [low..high]
+    */
+   public static <T> Collection<T> rangeByInt(Collection<T> coll,
+                                              int low, int high,
+                                              ToIntFunction<? super T> key) {
+      return rangeByLong(coll, low, high, widen(key));
+   }
+
+
+   /**
+    * As ceilingByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the ceiling value is selected
+    * @param value   the reference key
+    * @param key     extracts the primitive key of an element
+    * @return        the element with the ceiling key of value
+    */
+   public static <T> T ceilingByInt(Collection<T> coll, int value,
+                                    ToIntFunction<? super T> key) {
+      return ceilingByLong(coll, value, widen(key));
+   }
+
+
+   /**
+    * As floorByLong, for an int key.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the floor value is selected
+    * @param value   the reference key
+    * @param key     extracts the primitive key of an element
+    * @return        the element with the floor key of value
+    */
+   public static <T> T floorByInt(Collection<T> coll, int value,
+                                  ToIntFunction<? super T> key) {
+      return floorByLong(coll, value, widen(key));
+   }
+
+
+   /*************************************************************************/
+   /*********************************HELPERS*********************************/
+   /*************************************************************************/
+
+   /**
+    * Throws IllegalArgumentException if a is null and
+    * NoSuchElementException if it is empty.
+    *
+    * @param a       the array to check
+    */
+   private static void check(long[] a) {
+      // a is null
+      if (a == null) {
+         throw new IllegalArgumentException("null");
+      }
+      // length == 0
+      if (a.length == 0) {
+         throw new NoSuchElementException("zero length");
+      }
+   }
+
+
+   /**
+    * As check(long[]), for doubles.
+    *
+    * @param a       the array to check
+    */
+   private static void check(double[] a) {
+      // a is null
+      if (a == null) {
+         throw new IllegalArgumentException("null");
+      }
+      // length == 0
+      if (a.length == 0) {
+         throw new NoSuchElementException("zero length");
+      }
+   }
+
+
+   /**
+    * As check(long[]), and also throws NoSuchElementException if k is
+    * outside [1..a.length].
+    *
+    * @param a       the array to check
+    * @param k       the k-selection value
+    */
+   private static void check(long[] a, int k) {
+      check(a);
+      // no kth value
+      if (k < 1 || k > a.length) {
+         throw new NoSuchElementException("no kth value");
+      }
+   }
+
+
+   /**
+    * As check(double[]), and also throws NoSuchElementException if k is
+    * outside [1..a.length].
+    *
+    * @param a       the array to check
+    * @param k       the k-selection value
+    */
+   private static void check(double[] a, int k) {
+      check(a);
+      // no kth value
+      if (k < 1 || k > a.length) {
+         throw new NoSuchElementException("no kth value");
+      }
+   }
+
+
+   /**
+    * Returns the index in the sorted array a of the kth distinct value
+    * counted from the smallest (fromLow) or the largest.
+    *
+    * @param a       a non-empty array in ascending order
+    * @param k       the k-selection value, at least 1
+    * @param fromLow true to count from a[0], false from a[a.length - 1]
+    * @return        the index of the kth distinct value
+    * @throws        NoSuchElementException if there is no kth value
+    */
+   private static int kth(long[] a, int k, boolean fromLow) {
+      int step = fromLow ? 1 : -1;
+      int at = fromLow ? 0 : a.length - 1;
+      int distinct = 1;
+      for (int i = at + step; i >= 0 && i < a.length && distinct < k;
+               i += step) {
+         if (a[i] != a[at]) {
+            at = i;
+            distinct++;
+         }
+      }
+      if (distinct < k) {
+         throw new NoSuchElementException("no kth value");
+      }
+      return at;
+   }
+
+
+   /**
+    * As kth(long[], int, boolean), with values compared as by
+    * Double.compare.
+    *
+    * @param a       a non-empty array in ascending order
+    * @param k       the k-selection value, at least 1
+    * @param fromLow true to count from a[0], false from a[a.length - 1]
+    * @return        the index of the kth distinct value
+    * @throws        NoSuchElementException if there is no kth value
+    */
+   private static int kth(double[] a, int k, boolean fromLow) {
+      int step = fromLow ? 1 : -1;
+      int at = fromLow ? 0 : a.length - 1;
+      int distinct = 1;
+      for (int i = at + step; i >= 0 && i < a.length && distinct < k;
+               i += step) {
+         if (Double.compare(a[i], a[at]) != 0) {
+            at = i;
+            distinct++;
+         }
+      }
+      if (distinct < k) {
+         throw new NoSuchElementException("no kth value");
+      }
+      return at;
+   }
+
+
+   /**
+    * Returns true if v is in [low..high] as ordered by Double.compare.
+    *
+    * @param v       the value to test
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @return        true if v is in range
+    */
+   private static boolean in(double v, double low, double high) {
+      return Double.compare(v, low) >= 0 && Double.compare(v, high) <= 0;
+   }
+
+
+   /**
+    * Returns the last index of the smallest value in a that is at least
+    * key, or -1 if there is none.
+    *
+    * @param a       the values to scan
+    * @param key     the reference value
+    * @return        the index of the ceiling, or -1
+    */
+   private static int ceilingIndex(long[] a, long key) {
+      int at = -1;
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] >= key && (at < 0 || a[i] <= a[at])) {
+            at = i;
+         }
+      }
+      return at;
+   }
+
+
+   /**
+    * Returns the last index of the largest value in a that is at most key,
+    * or -1 if there is none.
+    *
+    * @param a       the values to scan
+    * @param key     the reference value
+    * @return        the index of the floor, or -1
+    */
+   private static int floorIndex(long[] a, long key) {
+      int at = -1;
+      for (int i = 0; i < a.length; i++) {
+         if (a[i] <= key && (at < 0 || a[i] >= a[at])) {
+            at = i;
+         }
+      }
+      return at;
+   }
+
+
+   /**
+    * Returns the first index of v in a. The value is known to be present.
+    *
+    * @param a       the values to scan
+    * @param v       the value to find
+    * @return        the first index of v
+    */
+   private static int indexOf(long[] a, long v) {
+      int i = 0;
+      while (a[i] != v) {
+         i++;
+      }
+      return i;
+   }
+
+
+   /**
+    * Extracts the key of every element of coll, in iteration order.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection to read
+    * @param key     extracts the primitive key of an element
+    * @return        the keys, one per element
+    * @throws        IllegalArgumentException if coll or key is null
+    * @throws        NoSuchElementException if coll is empty
+    */
+   private static <T> long[] keys(Collection<T> coll,
+                                  ToLongFunction<? super T> key) {
+      // coll || key is null
+      if (coll == null || key == null) {
+         throw new IllegalArgumentException("null");
+      }
+      // size == 0
+      if (coll.size() == 0) {
+         throw new NoSuchElementException("zero length");
+      }
+      long[] keys = new long[coll.size()];
+      int i = 0;
+      for (T val : coll) {
+         keys[i++] = key.applyAsLong(val);
+      }
+      return keys;
+   }
+
+
+   /**
+    * Returns the element at position at in coll's iteration order.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection to read
+    * @param at      the position, from 0 to coll.size() - 1
+    * @return        the element at that position
+    */
+   private static <T> T element(Collection<T> coll, int at) {
+      if (coll instanceof List && coll instanceof RandomAccess) {
+         return ((List<T>) coll).get(at);
+      }
+      int i = 0;
+      for (T val : coll) {
+         if (i++ == at) {
+            return val;
+         }
+      }
+      throw new NoSuchElementException("changed during selection");
+   }
+
+
+   /**
+    * Widens an int key to a long key.
+    *
+    * @param <T>     This is the type parameter
+    * @param key     extracts an int key
+    * @return        the same key as a long
+    */
+   private static <T> ToLongFunction<T> widen(
+                                       final ToIntFunction<? super T> key) {
+      // null key: passed on for keys() to reject
+      if (key == null) {
+         return null;
+      }
+      return val -> key.applyAsInt(val);
+   }
+
+}
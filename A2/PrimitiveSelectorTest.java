@@ -0,0 +1,110 @@
+import org.junit.Assert;
+// import static org.junit.Assert.*;
+// import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+
+public class PrimitiveSelectorTest {
+
+   /** A test. **/
+   @Test public void testLong_matchesSelector() {
+      Random rnd = new Random(15);
+      long[] a = new long[500];
+      List<Long> boxed = new ArrayList<Long>();
+      for (int i = 0; i < a.length; i++) {
+         a[i] = rnd.nextInt(200) - 100L + (i % 2 == 0 ? 0 : Long.MIN_VALUE / 2);
+         boxed.add(a[i]);
+      }
+      Comparator<Long> comp = Comparator.naturalOrder();
+      Assert.assertEquals((long) Selector.min(boxed, comp),
+                          PrimitiveSelector.min(a));
+      Assert.assertEquals((long) Selector.max(boxed, comp),
+                          PrimitiveSelector.max(a));
+      for (int k = 1; k <= 150; k += 13) {
+         Assert.assertEquals((long) Selector.kmin(boxed, k, comp),
+                             PrimitiveSelector.kmin(a, k));
+         Assert.assertEquals((long) Selector.kmax(boxed, k, comp),
+                             PrimitiveSelector.kmax(a, k));
+      }
+      Assert.assertEquals((long) Selector.ceiling(boxed, 0L, comp),
+                          PrimitiveSelector.ceiling(a, 0L));
+      Assert.assertEquals((long) Selector.floor(boxed, 0L, comp),
+                          PrimitiveSelector.floor(a, 0L));
+      Assert.assertEquals(Selector.range(boxed, -50L, 50L, comp).size(),
+                          PrimitiveSelector.range(a, -50L, 50L).length);
+   }
+
+   /** A test. **/
+   @Test public void testDouble_order() {
+      double[] a = {0.0, Double.NaN, -0.0, 2.5, -0.0, 2.5};
+      Assert.assertEquals(Double.doubleToLongBits(-0.0),
+         Double.doubleToLongBits(PrimitiveSelector.min(a)));
+      Assert.assertTrue(Double.isNaN(PrimitiveSelector.max(a)));
+      Assert.assertEquals(0.0, PrimitiveSelector.kmin(a, 2), 0.0);
+      Assert.assertEquals(2.5, PrimitiveSelector.kmax(a, 2), 0.0);
+      Assert.assertEquals(Double.doubleToLongBits(0.0),
+         Double.doubleToLongBits(PrimitiveSelector.ceiling(a, 0.0)));
+      Assert.assertEquals(3, PrimitiveSelector.range(a, -0.0, 0.0).length);
+   }
+
+   /** A test. **/
+   @Test public void testByInt_matchesSelector() {
+      List<int[]> list = new ArrayList<int[]>();
+      Random rnd = new Random(16);
+      for (int i = 0; i < 400; i++) {
+         list.add(new int[] {rnd.nextInt(40), i});
+      }
+      Comparator<int[]> comp = Comparator.comparingInt(x -> x[0]);
+      Assert.assertSame(Selector.min(list, comp),
+                        PrimitiveSelector.minByInt(list, x -> x[0]));
+      Assert.assertSame(Selector.max(list, comp),
+                        PrimitiveSelector.maxByInt(list, x -> x[0]));
+      for (int k = 1; k <= 40; k += 3) {
+         Assert.assertSame(Selector.kmin(list, k, comp),
+                           PrimitiveSelector.kminByInt(list, k, x -> x[0]));
+         Assert.assertSame(Selector.kmax(list, k, comp),
+                           PrimitiveSelector.kmaxByInt(list, k, x -> x[0]));
+      }
+      int[] key = {20};
+      Assert.assertSame(Selector.ceiling(list, key, comp),
+                        PrimitiveSelector.ceilingByInt(list, 20, x -> x[0]));
+      Assert.assertSame(Selector.floor(list, key, comp),
+                        PrimitiveSelector.floorByInt(list, 20, x -> x[0]));
+      Assert.assertEquals(
+         new ArrayList<int[]>(Selector.range(list, key, key, comp)),
+         new ArrayList<int[]>(
+            PrimitiveSelector.rangeByInt(list, 20, 20, x -> x[0])));
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testMin_null() {
+      PrimitiveSelector.min((long[]) null);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testKmin_empty() {
+      PrimitiveSelector.kmin(new double[0], 1);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testKmax_tooFewDistinct() {
+      PrimitiveSelector.kmax(new long[] {3, 3, 1}, 3);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testFloorByInt_none() {
+      List<String> list = new ArrayList<String>();
+      list.add("abc");
+      PrimitiveSelector.floorByInt(list, 2, String::length);
+   }
+
+}
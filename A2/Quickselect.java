@@ -0,0 +1,202 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Quickselect.java.
+ * Comparator-based selection of the kth distinct value of an array
+ * snapshot. Each step partitions the active subarray three ways around a
+ * random pivot (less, equal, greater), so a run of values the comparator
+ * considers equal is counted once. The less-than part is searched first;
+ * if it turns out to hold fewer than k distinct values the search moves on
+ * to the pivot and then to the greater-than part, and it stops as soon as
+ * the kth distinct value is located. Only the values ranked below the
+ * answer are ever fully partitioned, so small k costs little more than a
+ * single linear pass.
+ *
+ * The original position of every element travels with it, and of the
+ * equal values that make up the answer the one that came first in the
+ * array is returned. The random pivot therefore never shows in the
+ * result, which is the element a stable sort would put first in its run.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+final class Quickselect<T> {
+
+   /** array being searched, rearranged in place. */
+   private final Object[] a;
+
+   /** original position in a of each element of a. */
+   private final int[] index;
+
+   /** total order on the elements of a. */
+   private final Comparator<T> comp;
+
+   /** the kth distinct value, once located. */
+   private T found;
+
+   /**
+    * Can only be created through kth.
+    *
+    * @param a array being searched
+    * @param comp total order on the elements of a
+    */
+   private Quickselect(Object[] a, Comparator<T> comp) {
+      this.a = a;
+      this.comp = comp;
+      index = new int[a.length];
+      for (int i = 0; i < index.length; i++) {
+         index[i] = i;
+      }
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value in a as defined by comp.
+    * Values for which comp returns 0 count as one distinct value, and the
+    * one of them that comes first in a is returned. The array a is
+    * rearranged. If there are fewer than k distinct values in a, this
+    * method throws a NoSuchElementException.
+    *
+    * @param <T>     This is the type parameter
+    * @param a       array of T, rearranged by this method
+    * @param k       the k-selection value, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth smallest distinct value in a
+    * @throws        NoSuchElementException as per above
+    */
+   static <T> T kth(Object[] a, int k, Comparator<T> comp) {
+      Quickselect<T> q = new Quickselect<T>(a, comp);
+      if (q.select(0, a.length - 1, k) >= 0) {
+         throw new NoSuchElementException("no kth value");
+      }
+      return q.found;
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value in a as defined by comp by
+    * sorting a and counting runs of equal values, without copying it
+    * again. Values for which comp returns 0 count as one distinct value,
+    * and the one of them that comes first in a is returned, since the sort
+    * is stable. The array a is rearranged. If there are fewer than k
+    * distinct values in a, this method throws a NoSuchElementException.
+    *
+    * @param <T>     This is the type parameter
+    * @param a       non-empty array of T, sorted by this method
+    * @param k       the k-selection value, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth smallest distinct value in a
+    * @throws        NoSuchElementException as per above
+    */
+   @SuppressWarnings("unchecked")
+   static <T> T kthSorted(Object[] a, int k, Comparator<T> comp) {
+      Arrays.sort((T[]) a, comp);
+      return kthOfSorted(a, k, comp);
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value in a, which is already sorted
+    * by comp, by counting runs of equal values. The first element of the
+    * run is returned. If there are fewer than k distinct values in a, this
+    * method throws a NoSuchElementException.
+    *
+    * @param <T>     This is the type parameter
+    * @param a       non-empty array of T in ascending order by comp
+    * @param k       the k-selection value, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth smallest distinct value in a
+    * @throws        NoSuchElementException as per above
+    */
+   @SuppressWarnings("unchecked")
+   static <T> T kthOfSorted(Object[] a, int k, Comparator<T> comp) {
+      T run = (T) a[0];
+      int distinct = 1;
+      for (int i = 1; i < a.length && distinct < k; i++) {
+         if (comp.compare(run, (T) a[i]) != 0) {
+            run = (T) a[i];
+            distinct++;
+         }
+      }
+      if (distinct < k) {
+         throw new NoSuchElementException("no kth value");
+      }
+      return run;
+   }
+
+
+   /**
+    * Searches a[lo..hi] for its kth distinct value. If it is located, it
+    * is stored in found and -1 is returned; otherwise the number of
+    * distinct values in a[lo..hi], which is less than k, is returned.
+    *
+    * @param lo    lower bound of the subarray, inclusive
+    * @param hi    upper bound of the subarray, inclusive
+    * @param k     the k-selection value within the subarray, at least 1
+    * @return      -1 if found, otherwise the number of distinct values
+    */
+   @SuppressWarnings("unchecked")
+   private int select(int lo, int hi, int k) {
+      int distinct = 0;
+      while (lo <= hi) {
+         T pivot = (T) a[ThreadLocalRandom.current().nextInt(lo, hi + 1)];
+         // a[lo..lt-1] < pivot, a[lt..gt] == pivot, a[gt+1..hi] > pivot
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            int c = comp.compare((T) a[i], pivot);
+            if (c < 0) {
+               swap(lt++, i++);
+            }
+            else if (c > 0) {
+               swap(i, gt--);
+            }
+            else {
+               i++;
+            }
+         }
+
+         int below = select(lo, lt - 1, k);
+         if (below < 0) {
+            return -1;
+         }
+         if (k == below + 1) {
+            // a[lt..gt] holds every value equal to the pivot
+            int first = lt;
+            for (int j = lt + 1; j <= gt; j++) {
+               if (index[j] < index[first]) {
+                  first = j;
+               }
+            }
+            found = (T) a[first];
+            return -1;
+         }
+         distinct += below + 1;
+         k -= below + 1;
+         lo = gt + 1;
+      }
+      return distinct;
+   }
+
+
+   /**
+    * Exchanges a[i] and a[j], and their original positions.
+    *
+    * @param i first index
+    * @param j second index
+    */
+   private void swap(int i, int j) {
+      Object t = a[i];
+      a[i] = a[j];
+      a[j] = t;
+      int p = index[i];
+      index[i] = index[j];
+      index[j] = p;
+   }
+
+}
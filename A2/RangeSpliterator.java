@@ -0,0 +1,104 @@
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * RangeSpliterator.java.
+ * A Spliterator over the elements of a source Spliterator that lie in the
+ * range [low..high] of a Comparator. Elements are tested as they are
+ * traversed, so nothing is copied, and splitting delegates to the source
+ * so that a parallel stream can divide the work.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ * @param <T> type variable
+ *
+ */
+final class RangeSpliterator<T> implements Spliterator<T> {
+
+   /** characteristics of the source that filtering preserves. */
+   private static final int KEPT = ORDERED | DISTINCT | SORTED | NONNULL
+                                      | IMMUTABLE | CONCURRENT;
+
+   /** the unfiltered elements. */
+   private final Spliterator<T> source;
+
+   /** the range bounds and the order that defines them. */
+   private final T low;
+   private final T high;
+   private final Comparator<T> comp;
+
+   /** the most recent element offered by source. */
+   private T current;
+
+   /**
+    * Creates a Spliterator over the elements of source in [low..high].
+    *
+    * @param source  the unfiltered elements
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @param comp    the Comparator that defines the total order on T
+    */
+   RangeSpliterator(Spliterator<T> source, T low, T high,
+                    Comparator<T> comp) {
+      this.source = source;
+      this.low = low;
+      this.high = high;
+      this.comp = comp;
+   }
+
+   @Override
+   public boolean tryAdvance(Consumer<? super T> action) {
+      while (source.tryAdvance(val -> current = val)) {
+         T val = current;
+         current = null;
+         if (comp.compare(val, low) >= 0 && comp.compare(val, high) <= 0) {
+            action.accept(val);
+            return true;
+         }
+      }
+      return false;
+   }
+
+   @Override
+   public void forEachRemaining(Consumer<? super T> action) {
+      source.forEachRemaining(
+         val -> {
+            if (comp.compare(val, low) >= 0
+                  && comp.compare(val, high) <= 0) {
+               action.accept(val);
+            }
+         });
+   }
+
+   @Override
+   public Spliterator<T> trySplit() {
+      Spliterator<T> prefix = source.trySplit();
+      if (prefix == null) {
+         return null;
+      }
+      return new RangeSpliterator<T>(prefix, low, high, comp);
+   }
+
+   /**
+    * Returns the number of elements left in the source, an upper bound on
+    * the number that will be accepted.
+    *
+    * @return estimated number of remaining elements
+    */
+   @Override
+   public long estimateSize() {
+      return source.estimateSize();
+   }
+
+   @Override
+   public int characteristics() {
+      return source.characteristics() & KEPT;
+   }
+
+   @Override
+   public Comparator<? super T> getComparator() {
+      return source.getComparator();
+   }
+
+}
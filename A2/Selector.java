@@ -1,9 +1,18 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Defines a library of selection methods on Collections.
@@ -24,6 +33,13 @@ public final class Selector {
    private Selector() { }
 
 
+   /**
+    * Collections at least this large are searched by Quickselect in
+    * kmin and kmax; smaller ones are sorted and scanned.
+    */
+   static final int SELECT_CUTOFF = 32;
+
+
    /**
     * Returns the minimum value in the Collection coll as defined by the
     * Comparator comp. If either coll or comp is null, this method throws an
@@ -38,6 +54,28 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T min(Collection<T> coll, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.MIN);
+      try {
+         return min(coll, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of min, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per min
+    * @param comp    as per min
+    * @param probe   records the call
+    * @return        as per min
+    */
+   private static <T> T min(Collection<T> coll, Comparator<T> comp,
+                            SelectorMetrics.Probe probe) {
      // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -47,11 +85,22 @@ public final class Selector {
          throw new NoSuchElementException("zero length");
       }
 
+      // sorted input: the first element
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return set.first();
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return sorted.get(0);
+      }
+
       T min = coll.iterator().next();
      // size == 1
       if (coll.size() == 1) {
          return min;
       }
+      probe.scanned(coll.size());
       for (T val : coll) {
          if (comp.compare(val, min) < 0) {
             min = val;
@@ -75,6 +124,28 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T max(Collection<T> coll, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.MAX);
+      try {
+         return max(coll, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of max, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per max
+    * @param comp    as per max
+    * @param probe   records the call
+    * @return        as per max
+    */
+   private static <T> T max(Collection<T> coll, Comparator<T> comp,
+                            SelectorMetrics.Probe probe) {
      // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -84,12 +155,24 @@ public final class Selector {
          throw new NoSuchElementException("zero length");
       }
 
+      // sorted input: the first element of the last run
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return set.last();
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return sorted.get(SortedInput.lowerBound(sorted,
+                              sorted.get(sorted.size() - 1), comp));
+      }
+
       T max = coll.iterator().next();
      // size == 1
       if (coll.size() == 1) {
          return max;
       }
      // size > 1
+      probe.scanned(coll.size());
       for (T val : coll) {
          if (comp.compare(val, max) > 0) {
             max = val;
@@ -103,7 +186,8 @@ public final class Selector {
     * Selects the kth minimum value from the Collection coll as defined by the
     * Comparator comp. If either coll or comp is null, this method throws an
     * IllegalArgumentException. If coll is empty or if there is no kth minimum
-    * value, this method throws a NoSuchElementException. This method will not
+    * value, this method throws a NoSuchElementException. Values for which
+    * comp returns 0 count as a single distinct value. This method will not
     * change coll in any way.
     *
     * @param <T>     This is the type parameter
@@ -115,6 +199,29 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T kmin(Collection<T> coll, int k, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.KMIN);
+      try {
+         return kmin(coll, k, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of kmin, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per kmin
+    * @param k       as per kmin
+    * @param comp    as per kmin
+    * @param probe   records the call
+    * @return        as per kmin
+    */
+   private static <T> T kmin(Collection<T> coll, int k, Comparator<T> comp,
+                             SelectorMetrics.Probe probe) {
    // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -125,42 +232,29 @@ public final class Selector {
          throw new NoSuchElementException("zero length || no kth min");
       }
 
-      List<T> copy = new ArrayList<T>(coll.size());
-      copy.addAll(coll);
-
       // size == 1
-      if (copy.size() == 1) {
-         return copy.get(0);
+      if (coll.size() == 1) {
+         return coll.iterator().next();
       }
 
-      int distinctVals = 1;
-      int retLength = copy.size();
-
-      java.util.Collections.sort(copy, comp);
-
-      for (int i = 0; i < copy.size() - 1; i++) {
-         if (copy.get(i) != copy.get(i + 1)) {
-            distinctVals++;
-         }
-         else {
-            retLength--;
-         }
+      // sorted input: walk or jump over the first k distinct values
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return SortedInput.kth(set.iterator(), k);
       }
-
-      // no kth min
-      if (k > distinctVals) {
-         throw new NoSuchElementException("no kth min");
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return SortedInput.kmin(sorted, k, comp);
       }
 
-      List<T> ret = new ArrayList<T>(retLength);
-      ret.add(copy.get(0));
-      int j = 1;
-      for (int i = 1; i < copy.size(); i++) {
-         if (copy.get(i) != copy.get(i - 1)) {
-            ret.add(j++, copy.get(i));
-         }
+      Object[] copy = coll.toArray();
+      probe.scanned(copy.length);
+      probe.copied(copy.length);
+      // size < SELECT_CUTOFF: sorting is cheaper than partitioning
+      if (copy.length < SELECT_CUTOFF) {
+         return Quickselect.kthSorted(copy, k, comp);
       }
-      return ret.get(k - 1);
+      return Quickselect.kth(copy, k, comp);
    }
 
 
@@ -168,7 +262,8 @@ public final class Selector {
     * Selects the kth maximum value from the Collection coll as defined by the
     * Comparator comp. If either coll or comp is null, this method throws an
     * IllegalArgumentException. If coll is empty or if there is no kth maximum
-    * value, this method throws a NoSuchElementException. This method will not
+    * value, this method throws a NoSuchElementException. Values for which
+    * comp returns 0 count as a single distinct value. This method will not
     * change coll in any way.
     *
     * @param <T>     This is the type parameter
@@ -180,6 +275,29 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T kmax(Collection<T> coll, int k, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.KMAX);
+      try {
+         return kmax(coll, k, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of kmax, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per kmax
+    * @param k       as per kmax
+    * @param comp    as per kmax
+    * @param probe   records the call
+    * @return        as per kmax
+    */
+   private static <T> T kmax(Collection<T> coll, int k, Comparator<T> comp,
+                             SelectorMetrics.Probe probe) {
      // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -190,43 +308,212 @@ public final class Selector {
          throw new NoSuchElementException("zero length || no kth min");
       }
 
-      List<T> copy = new ArrayList<T>(coll.size());
-      copy.addAll(coll);
-
         // size == 1
-      if (copy.size() == 1) {
-         return copy.get(0);
+      if (coll.size() == 1) {
+         return coll.iterator().next();
       }
 
-      int distinctVals = 1;
-      int retLength = copy.size();
+      // sorted input: walk or jump over the last k distinct values
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return SortedInput.kth(set.descendingIterator(), k);
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return SortedInput.kmax(sorted, k, comp);
+      }
 
-      java.util.Collections.sort(copy, comp);
+      // the kth maximum is the kth minimum of the reversed order
+      Object[] copy = coll.toArray();
+      probe.scanned(copy.length);
+      probe.copied(copy.length);
+      if (copy.length < SELECT_CUTOFF) {
+         return Quickselect.kthSorted(copy, k, reverse(comp));
+      }
+      return Quickselect.kth(copy, k, reverse(comp));
 
-      for (int i = 0; i < copy.size() - 1; i++) {
-         if (copy.get(i) != copy.get(i + 1)) {
-            distinctVals++;
-         }
-         else {
-            retLength--;
-         }
+   }
+
+
+   /**
+    * Returns the k smallest distinct values in the Collection coll as
+    * defined by the Comparator comp, in ascending order, so that element
+    * i of the result is kmin(coll, i + 1, comp). Values for which comp
+    * returns 0 count as a single distinct value, represented by the first
+    * of them in coll's iteration order. One pass over coll keeps the k
+    * smallest distinct values seen so far in a bounded ordered set, taking
+    * O(n log k) time and O(k) memory. If either coll or comp is null, this
+    * method throws an IllegalArgumentException. If coll is empty, if k is
+    * less than 1, or if coll has fewer than k distinct values, this method
+    * throws a NoSuchElementException. This method will not change coll in
+    * any way.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the values are selected
+    * @param k       the number of values to select
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a List of the k smallest distinct values in coll
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> bottomK(Collection<T> coll, int k,
+                                     Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.BOTTOM_K);
+      try {
+         return bottomK(coll, k, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
       }
+   }
 
-        // no kth min
-      if (k > distinctVals) {
-         throw new NoSuchElementException("no kth min");
+
+   /**
+    * Body of bottomK, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per bottomK
+    * @param k       as per bottomK
+    * @param comp    as per bottomK
+    * @param probe   records the call
+    * @return        as per bottomK
+    */
+   private static <T> List<T> bottomK(Collection<T> coll, int k,
+                                      Comparator<T> comp,
+                                      SelectorMetrics.Probe probe) {
+      // coll || comp is null
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("null");
+      }
+
+      // size == 0 || no kth min
+      if (coll.size() == 0 || k < 1 || k > coll.size()) {
+         throw new NoSuchElementException("zero length || no kth min");
+      }
+
+      // sorted input: walk or jump over the first k distinct values
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return SortedInput.firstK(set.iterator(), k);
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return SortedInput.bottomK(sorted, k, comp);
+      }
+
+      probe.scanned(coll.size());
+      probe.copied(k);
+      return smallest(coll, k, comp);
+   }
+
+
+   /**
+    * Returns the k largest distinct values in the Collection coll as
+    * defined by the Comparator comp, in descending order, so that element
+    * i of the result is kmax(coll, i + 1, comp). Values for which comp
+    * returns 0 count as a single distinct value, represented by the first
+    * of them in coll's iteration order. One pass over coll keeps the k
+    * largest distinct values seen so far in a bounded ordered set, taking
+    * O(n log k) time and O(k) memory. If either coll or comp is null, this
+    * method throws an IllegalArgumentException. If coll is empty, if k is
+    * less than 1, or if coll has fewer than k distinct values, this method
+    * throws a NoSuchElementException. This method will not change coll in
+    * any way.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the values are selected
+    * @param k       the number of values to select
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a List of the k largest distinct values in coll
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> topK(Collection<T> coll, int k,
+                                  Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.TOP_K);
+      try {
+         return topK(coll, k, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
       }
+   }
 
-      List<T> ret = new ArrayList<T>(retLength);
-      ret.add(copy.get(0));
-      int j = 1;
-      for (int i = 1; i < copy.size(); i++) {
-         if (copy.get(i) != copy.get(i - 1)) {
-            ret.add(j++, copy.get(i));
+
+   /**
+    * Body of topK, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per topK
+    * @param k       as per topK
+    * @param comp    as per topK
+    * @param probe   records the call
+    * @return        as per topK
+    */
+   private static <T> List<T> topK(Collection<T> coll, int k,
+                                   Comparator<T> comp,
+                                   SelectorMetrics.Probe probe) {
+      // coll || comp is null
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("null");
+      }
+
+      // size == 0 || no kth max
+      if (coll.size() == 0 || k < 1 || k > coll.size()) {
+         throw new NoSuchElementException("zero length || no kth max");
+      }
+
+      // sorted input: walk or jump over the last k distinct values
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         return SortedInput.firstK(set.descendingIterator(), k);
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         return SortedInput.topK(sorted, k, comp);
+      }
+
+      // the k largest are the k smallest of the reversed order
+      probe.scanned(coll.size());
+      probe.copied(k);
+      return smallest(coll, k, reverse(comp));
+   }
+
+
+   /**
+    * Returns the k smallest distinct values of coll by comp in ascending
+    * order. A TreeSet ordered by comp holds the best k seen so far: it
+    * drops comparator-equal values on insertion, which a binary heap could
+    * not do without a linear search, and its largest member is evicted
+    * whenever it grows past k.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    a non-empty Collection
+    * @param k       the number of values, from 1 to coll.size()
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a List of the k smallest distinct values
+    * @throws        NoSuchElementException if there are fewer than k
+    */
+   private static <T> List<T> smallest(Collection<T> coll, int k,
+                                       Comparator<T> comp) {
+      TreeSet<T> best = new TreeSet<T>(comp);
+      for (T val : coll) {
+         // full: only a value below the current kth can enter
+         if (best.size() == k && comp.compare(val, best.last()) >= 0) {
+            continue;
+         }
+         if (best.add(val) && best.size() > k) {
+            best.pollLast();
          }
       }
-      return ret.get(retLength - k);
 
+      // fewer than k distinct values
+      if (best.size() < k) {
+         throw new NoSuchElementException("no kth value");
+      }
+      return new ArrayList<T>(best);
    }
 
 
@@ -252,6 +539,31 @@ public final class Selector {
     */
    public static <T> Collection<T> range(Collection<T> coll, T low, T high,
                                          Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.RANGE);
+      try {
+         return range(coll, low, high, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of range, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per range
+    * @param low     as per range
+    * @param high    as per range
+    * @param comp    as per range
+    * @param probe   records the call
+    * @return        as per range
+    */
+   private static <T> Collection<T> range(Collection<T> coll, T low, T high,
+                                          Comparator<T> comp,
+                                          SelectorMetrics.Probe probe) {
       // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -262,7 +574,32 @@ public final class Selector {
          throw new NoSuchElementException("zero length");
       }
 
+      // sorted input: copy only the qualifying run
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (set != null || sorted != null) {
+         Collection<T> run;
+         if (comp.compare(low, high) > 0) {
+            run = Collections.emptyList();
+         }
+         else if (set != null) {
+            run = set.subSet(low, true, high, true);
+         }
+         else {
+            int from = SortedInput.lowerBound(sorted, low, comp);
+            int to = Math.max(from,
+                              SortedInput.upperBound(sorted, high, comp));
+            run = sorted.subList(from, to);
+         }
+         if (run.isEmpty()) {
+            throw new NoSuchElementException("no vals");
+         }
+         probe.copied(run.size());
+         return new ArrayList<T>(run);
+      }
+
       // size > 0
+      probe.scanned(2L * coll.size());
       int count = 0;
       for (T val : coll) {
          if (comp.compare(val, low) >= 0
@@ -277,6 +614,7 @@ public final class Selector {
       }
 
       Collection<T> copy = new ArrayList<T>(count);
+      probe.copied(count);
       for (T val : coll) {
          if (comp.compare(val, low) >= 0
                && comp.compare(val, high) <= 0) {
@@ -287,6 +625,77 @@ public final class Selector {
    }
 
 
+   /**
+    * Returns a lazy view of the values in the Collection coll that are
+    * greater than or equal to low and less than or equal to high, as defined
+    * by the Comparator comp. Nothing is copied: each traversal of the view
+    * makes a single pass over coll, testing values as it goes, and its
+    * spliterator splits coll's spliterator so the view can be processed in
+    * parallel. Values appear in coll's iteration order, duplicates
+    * included. If no values qualify the view is simply empty. If either
+    * coll or comp is null, this method throws an IllegalArgumentException;
+    * if coll is empty, it throws a NoSuchElementException. The view reflects
+    * later changes to coll and never changes coll itself.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a lazy Iterable of values between low and high
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> Iterable<T> rangeView(final Collection<T> coll,
+                                           final T low, final T high,
+                                           final Comparator<T> comp) {
+      // coll || comp is null
+      if (coll == null || comp == null) {
+         throw new IllegalArgumentException("null");
+      }
+
+      // size == 0
+      if (coll.size() == 0) {
+         throw new NoSuchElementException("zero length");
+      }
+
+      return
+         new Iterable<T>() {
+            public Iterator<T> iterator() {
+               return Spliterators.iterator(spliterator());
+            }
+
+            public Spliterator<T> spliterator() {
+               return new RangeSpliterator<T>(coll.spliterator(),
+                                              low, high, comp);
+            }
+         };
+   }
+
+
+   /**
+    * Returns a sequential Stream of the values in the Collection coll that
+    * are greater than or equal to low and less than or equal to high, as
+    * defined by the Comparator comp, filtered lazily in a single pass. Call
+    * parallel() on the result to split the work. The exceptions are those of
+    * rangeView.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a Stream of values between low and high
+    * @throws        IllegalArgumentException as per rangeView
+    * @throws        NoSuchElementException as per rangeView
+    */
+   public static <T> Stream<T> rangeStream(Collection<T> coll, T low, T high,
+                                           Comparator<T> comp) {
+      return StreamSupport.stream(
+                rangeView(coll, low, high, comp).spliterator(), false);
+   }
+
+
    /**
     * Returns the smallest value in the Collection coll that is greater than
     * or equal to key, as defined by the Comparator comp. The value of key
@@ -304,6 +713,29 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T ceiling(Collection<T> coll, T key, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.CEILING);
+      try {
+         return ceiling(coll, key, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of ceiling, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per ceiling
+    * @param key     as per ceiling
+    * @param comp    as per ceiling
+    * @param probe   records the call
+    * @return        as per ceiling
+    */
+   private static <T> T ceiling(Collection<T> coll, T key, Comparator<T> comp,
+                                SelectorMetrics.Probe probe) {
      // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -314,12 +746,33 @@ public final class Selector {
          throw new NoSuchElementException("zero length");
       }
 
-      // size > 0
+      // sorted input: navigate or binary search
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         T ceil = set.ceiling(key);
+         if (ceil == null) {
+            throw new NoSuchElementException("no vals");
+         }
+         return ceil;
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         int i = SortedInput.lowerBound(sorted, key, comp);
+         if (i == sorted.size()) {
+            throw new NoSuchElementException("no vals");
+         }
+         // last of the equal run, as the scan below would return
+         return sorted.get(SortedInput.upperBound(sorted, sorted.get(i),
+                                                  comp) - 1);
+      }
+
+      // size > 0: one scan, keeping the last of equal candidates
+      probe.scanned(coll.size());
       boolean cond = false;
-      T ceil = max(coll, comp);
+      T ceil = null;
       for (T val : coll) {
          if (comp.compare(val, key) >= 0
-                  && comp.compare(val, ceil) <= 0) {
+                  && (!cond || comp.compare(val, ceil) <= 0)) {
             ceil = val;
             cond = true;
          }
@@ -350,6 +803,29 @@ public final class Selector {
     * @throws        NoSuchElementException as per above
     */
    public static <T> T floor(Collection<T> coll, T key, Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.FLOOR);
+      try {
+         return floor(coll, key, probe.wrap(comp), probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of floor, reporting to probe. comp may be wrapped by probe.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per floor
+    * @param key     as per floor
+    * @param comp    as per floor
+    * @param probe   records the call
+    * @return        as per floor
+    */
+   private static <T> T floor(Collection<T> coll, T key, Comparator<T> comp,
+                              SelectorMetrics.Probe probe) {
       // coll || comp is null
       if (coll == null || comp == null) {
          throw new IllegalArgumentException("null");
@@ -360,12 +836,31 @@ public final class Selector {
          throw new NoSuchElementException("zero length");
       }
 
-      // size > 0
+      // sorted input: navigate or binary search
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         T floor = set.floor(key);
+         if (floor == null) {
+            throw new NoSuchElementException("no vals");
+         }
+         return floor;
+      }
+      List<T> sorted = SortedInput.asList(coll, comp);
+      if (sorted != null) {
+         int i = SortedInput.upperBound(sorted, key, comp) - 1;
+         if (i < 0) {
+            throw new NoSuchElementException("no vals");
+         }
+         return sorted.get(i);
+      }
+
+      // size > 0: one scan, keeping the last of equal candidates
+      probe.scanned(coll.size());
       boolean cond = false;
-      T floor = min(coll, comp);
+      T floor = null;
       for (T val : coll) {
          if (comp.compare(val, key) <= 0
-                  && comp.compare(val, floor) >= 0) {
+                  && (!cond || comp.compare(val, floor) >= 0)) {
             floor = val;
             cond = true;
          }
@@ -377,4 +872,545 @@ public final class Selector {
       return floor;
    }
 
+
+   /**
+    * Returns the ceiling in the Collection coll of each value in keys, as
+    * defined by the Comparator comp, in the iteration order of keys. Entry
+    * i of the result is the value ceiling(coll, key, comp) returns for the
+    * ith key, or null if that key has no ceiling in coll. The keys are
+    * sorted once and answered in a single sweep over a sorted snapshot of
+    * coll, in O((n + q) log n) time for n values and q keys. If coll, keys
+    * or comp is null, this method throws an IllegalArgumentException. If
+    * coll is empty, this method throws a NoSuchElementException. This
+    * method will not change coll or keys in any way.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the ceiling values are selected
+    * @param keys    the reference values
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a List of the ceiling values of keys, null where none
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> ceilings(Collection<T> coll,
+                                      Collection<T> keys,
+                                      Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.CEILINGS);
+      try {
+         return bounds(coll, keys, probe.wrap(comp), true, probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Returns the floor in the Collection coll of each value in keys, as
+    * defined by the Comparator comp, in the iteration order of keys. Entry
+    * i of the result is the value floor(coll, key, comp) returns for the
+    * ith key, or null if that key has no floor in coll. The keys are
+    * sorted once and answered in a single sweep over a sorted snapshot of
+    * coll, in O((n + q) log n) time for n values and q keys. If coll, keys
+    * or comp is null, this method throws an IllegalArgumentException. If
+    * coll is empty, this method throws a NoSuchElementException. This
+    * method will not change coll or keys in any way.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the floor values are selected
+    * @param keys    the reference values
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a List of the floor values of keys, null where none
+    * @throws        IllegalArgumentException as per above
+    * @throws        NoSuchElementException as per above
+    */
+   public static <T> List<T> floors(Collection<T> coll, Collection<T> keys,
+                                    Comparator<T> comp) {
+      SelectorMetrics.Probe probe =
+         SelectorMetrics.start(SelectorMetrics.Operation.FLOORS);
+      try {
+         return bounds(coll, keys, probe.wrap(comp), false, probe);
+      }
+      finally {
+         probe.stop();
+      }
+   }
+
+
+   /**
+    * Body of ceilings (ceiling true) and floors (ceiling false).
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    as per ceilings
+    * @param keys    as per ceilings
+    * @param comp    as per ceilings
+    * @param ceiling true for ceilings, false for floors
+    * @param probe   records the call
+    * @return        as per ceilings
+    */
+   @SuppressWarnings("unchecked")
+   private static <T> List<T> bounds(Collection<T> coll, Collection<T> keys,
+                                     final Comparator<T> comp,
+                                     boolean ceiling,
+                                     SelectorMetrics.Probe probe) {
+      // coll || keys || comp is null
+      if (coll == null || keys == null || comp == null) {
+         throw new IllegalArgumentException("null");
+      }
+
+      // size == 0
+      if (coll.size() == 0) {
+         throw new NoSuchElementException("zero length");
+      }
+
+      final Object[] key = keys.toArray();
+      List<T> bounds = new ArrayList<T>(
+                          Collections.<T>nCopies(key.length, null));
+
+      // sorted set: navigate once per key
+      NavigableSet<T> set = SortedInput.asSet(coll, comp);
+      if (set != null) {
+         for (int i = 0; i < key.length; i++) {
+            T k = (T) key[i];
+            bounds.set(i, ceiling ? set.ceiling(k) : set.floor(k));
+         }
+         return bounds;
+      }
+
+      // sorted snapshot; a stable sort keeps equal values in coll's order
+      List<T> data = SortedInput.asList(coll, comp);
+      if (data == null) {
+         Object[] copy = coll.toArray();
+         probe.scanned(copy.length);
+         probe.copied(copy.length);
+         Arrays.sort((T[]) copy, comp);
+         data = Arrays.asList((T[]) copy);
+      }
+
+      // keys in ascending order, so the sweep only moves forward
+      Integer[] order = new Integer[key.length];
+      for (int i = 0; i < order.length; i++) {
+         order[i] = i;
+      }
+      Arrays.sort(order,
+         new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+               return comp.compare((T) key[a], (T) key[b]);
+            }
+         });
+
+      int n = data.size();
+      int i = 0;
+      // data[i..end-1] is the run of values equal to data[i]
+      int end = 0;
+      for (Integer at : order) {
+         T k = (T) key[at];
+         if (ceiling) {
+            while (i < n && comp.compare(data.get(i), k) < 0) {
+               i++;
+            }
+            if (i == n) {
+               break;
+            }
+            if (i >= end) {
+               end = i + 1;
+               while (end < n
+                        && comp.compare(data.get(end), data.get(i)) == 0) {
+                  end++;
+               }
+            }
+            // last of the equal run, as ceiling would return
+            bounds.set(at, data.get(end - 1));
+         }
+         else {
+            while (i < n && comp.compare(data.get(i), k) <= 0) {
+               i++;
+            }
+            if (i > 0) {
+               bounds.set(at, data.get(i - 1));
+            }
+         }
+      }
+      return bounds;
+   }
+
+
+   /*************************************************************************/
+   /***************************PARALLEL VARIANTS*****************************/
+   /*************************************************************************/
+
+   /**
+    * Returns the minimum value in the Collection coll as defined by the
+    * Comparator comp, splitting coll.spliterator() across the common
+    * ForkJoinPool. For an ordered collection the result is the same element
+    * min returns: the earliest of any equal minima. Exceptions are those of
+    * min.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the minimum is selected
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the minimum value in coll
+    * @throws        IllegalArgumentException as per min
+    * @throws        NoSuchElementException as per min
+    */
+   public static <T> T parallelMin(Collection<T> coll,
+                                   final Comparator<T> comp) {
+      if (!splittable(coll, comp)) {
+         return min(coll, comp);
+      }
+      return SplitTask.reduce(coll.spliterator(),
+         part -> best(part, comp, -1),
+         (l, r) -> pick(l, r, comp, -1, false)).value;
+   }
+
+
+   /**
+    * Returns the maximum value in the Collection coll as defined by the
+    * Comparator comp, splitting coll.spliterator() across the common
+    * ForkJoinPool. For an ordered collection the result is the same element
+    * max returns: the earliest of any equal maxima. Exceptions are those of
+    * max.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the maximum is selected
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the maximum value in coll
+    * @throws        IllegalArgumentException as per max
+    * @throws        NoSuchElementException as per max
+    */
+   public static <T> T parallelMax(Collection<T> coll,
+                                   final Comparator<T> comp) {
+      if (!splittable(coll, comp)) {
+         return max(coll, comp);
+      }
+      return SplitTask.reduce(coll.spliterator(),
+         part -> best(part, comp, 1),
+         (l, r) -> pick(l, r, comp, 1, false)).value;
+   }
+
+
+   /**
+    * Selects the kth minimum value from the Collection coll as defined by the
+    * Comparator comp using a parallel sort of a snapshot of coll. The sort
+    * is stable, so of several equal values the earliest in coll is
+    * returned, the same element kmin returns. Exceptions are those of kmin.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth minimum is selected
+    * @param k       the k-selection value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth minimum value in coll
+    * @throws        IllegalArgumentException as per kmin
+    * @throws        NoSuchElementException as per kmin
+    */
+   @SuppressWarnings("unchecked")
+   public static <T> T parallelKmin(Collection<T> coll, int k,
+                                    Comparator<T> comp) {
+      if (!splittable(coll, comp) || k < 1 || k > coll.size()) {
+         return kmin(coll, k, comp);
+      }
+      Object[] copy = coll.toArray();
+      Arrays.parallelSort((T[]) copy, comp);
+      return Quickselect.kthOfSorted(copy, k, comp);
+   }
+
+
+   /**
+    * Selects the kth maximum value from the Collection coll as defined by the
+    * Comparator comp using a parallel sort of a snapshot of coll. The sort
+    * is stable, so of several equal values the earliest in coll is
+    * returned, the same element kmax returns. Exceptions are those of kmax.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the kth maximum is selected
+    * @param k       the k-selection value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth maximum value in coll
+    * @throws        IllegalArgumentException as per kmax
+    * @throws        NoSuchElementException as per kmax
+    */
+   @SuppressWarnings("unchecked")
+   public static <T> T parallelKmax(Collection<T> coll, int k,
+                                    Comparator<T> comp) {
+      if (!splittable(coll, comp) || k < 1 || k > coll.size()) {
+         return kmax(coll, k, comp);
+      }
+      Object[] copy = coll.toArray();
+      Arrays.parallelSort((T[]) copy, reverse(comp));
+      return Quickselect.kthOfSorted(copy, k, reverse(comp));
+   }
+
+
+   /**
+    * Returns a new Collection containing all the values in the Collection
+    * coll that are greater than or equal to low and less than or equal to
+    * high, as defined by the Comparator comp, filtering pieces of
+    * coll.spliterator() in parallel. Values keep their order in coll.
+    * Exceptions are those of range.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the range values are selected
+    * @param low     the lower bound of the range
+    * @param high    the upper bound of the range
+    * @param comp    the Comparator that defines the total order on T
+    * @return        a Collection of values between low and high
+    * @throws        IllegalArgumentException as per range
+    * @throws        NoSuchElementException as per range
+    */
+   public static <T> Collection<T> parallelRange(Collection<T> coll,
+                                                 final T low, final T high,
+                                                 final Comparator<T> comp) {
+      if (!splittable(coll, comp)) {
+         return range(coll, low, high, comp);
+      }
+      List<T> copy = SplitTask.reduce(
+         new RangeSpliterator<T>(coll.spliterator(), low, high, comp),
+         part -> {
+            List<T> vals = new ArrayList<T>();
+            part.forEachRemaining(vals::add);
+            return vals;
+         },
+         (l, r) -> {
+            l.addAll(r);
+            return l;
+         });
+
+      // no qualifying value
+      if (copy.isEmpty()) {
+         throw new NoSuchElementException("no vals");
+      }
+      return copy;
+   }
+
+
+   /**
+    * Returns the smallest value in the Collection coll that is greater than
+    * or equal to key, as defined by the Comparator comp, splitting
+    * coll.spliterator() across the common ForkJoinPool. For an ordered
+    * collection the result is the same element ceiling returns: the latest
+    * of any equal candidates. Exceptions are those of ceiling.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the ceiling value is selected
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the ceiling value of key in coll
+    * @throws        IllegalArgumentException as per ceiling
+    * @throws        NoSuchElementException as per ceiling
+    */
+   public static <T> T parallelCeiling(Collection<T> coll, final T key,
+                                       final Comparator<T> comp) {
+      if (!splittable(coll, comp)) {
+         return ceiling(coll, key, comp);
+      }
+      Candidate<T> ceil = SplitTask.reduce(coll.spliterator(),
+         part -> bound(part, key, comp, 1),
+         (l, r) -> pick(l, r, comp, -1, true));
+
+      // no qualifying value
+      if (!ceil.found) {
+         throw new NoSuchElementException("no vals");
+      }
+      return ceil.value;
+   }
+
+
+   /**
+    * Returns the largest value in the Collection coll that is less than or
+    * equal to key, as defined by the Comparator comp, splitting
+    * coll.spliterator() across the common ForkJoinPool. For an ordered
+    * collection the result is the same element floor returns: the latest
+    * of any equal candidates. Exceptions are those of floor.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection from which the floor value is selected
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the floor value of key in coll
+    * @throws        IllegalArgumentException as per floor
+    * @throws        NoSuchElementException as per floor
+    */
+   public static <T> T parallelFloor(Collection<T> coll, final T key,
+                                     final Comparator<T> comp) {
+      if (!splittable(coll, comp)) {
+         return floor(coll, key, comp);
+      }
+      Candidate<T> floor = SplitTask.reduce(coll.spliterator(),
+         part -> bound(part, key, comp, -1),
+         (l, r) -> pick(l, r, comp, 1, true));
+
+      // no qualifying value
+      if (!floor.found) {
+         throw new NoSuchElementException("no vals");
+      }
+      return floor.value;
+   }
+
+
+   /**
+    * Returns true if a parallel variant should split coll itself: coll and
+    * comp are non-null, coll is large enough to be worth splitting, and
+    * coll is not sorted input that the sequential methods answer directly.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection to check
+    * @param comp    the Comparator that defines the total order on T
+    * @return        true to split coll
+    */
+   private static <T> boolean splittable(Collection<T> coll,
+                                         Comparator<T> comp) {
+      return coll != null && comp != null
+         && coll.size() > SplitTask.THRESHOLD
+         && SortedInput.asSet(coll, comp) == null
+         && SortedInput.asList(coll, comp) == null;
+   }
+
+
+   /**
+    * Combines the results of an earlier and a later piece. The later
+    * result wins if it is smaller (sign -1) or larger (sign 1) than the
+    * earlier one, or if the two are equal and ties is true. A piece without
+    * a candidate never wins.
+    *
+    * @param <T>     This is the type parameter
+    * @param earlier result of the earlier piece
+    * @param later   result of the later piece
+    * @param comp    the Comparator that defines the total order on T
+    * @param sign    -1 to prefer smaller values, 1 to prefer larger ones
+    * @param ties    whether later wins when the two are equal
+    * @return        the combined result
+    */
+   private static <T> Candidate<T> pick(Candidate<T> earlier,
+                                        Candidate<T> later,
+                                        Comparator<T> comp,
+                                        int sign, boolean ties) {
+      if (!earlier.found) {
+         return later;
+      }
+      if (!later.found) {
+         return earlier;
+      }
+      int c = sign * comp.compare(later.value, earlier.value);
+      return (c > 0 || (c == 0 && ties)) ? later : earlier;
+   }
+
+
+   /**
+    * Returns the first minimum (sign -1) or first maximum (sign 1) of the
+    * elements of part. The result has no candidate if part is empty.
+    *
+    * @param <T>     This is the type parameter
+    * @param part    the elements to scan
+    * @param comp    the Comparator that defines the total order on T
+    * @param sign    -1 for the minimum, 1 for the maximum
+    * @return        the extreme element
+    */
+   private static <T> Candidate<T> best(Spliterator<T> part,
+                                        final Comparator<T> comp,
+                                        final int sign) {
+      final Candidate<T> best = new Candidate<T>();
+      part.forEachRemaining(
+         val -> {
+            if (!best.found || sign * comp.compare(val, best.value) > 0) {
+               best.set(val);
+            }
+         });
+      return best;
+   }
+
+
+   /**
+    * Returns the ceiling (sign 1) or floor (sign -1) of key among the
+    * elements of part, keeping the last of equal candidates as ceiling and
+    * floor do. The result has no candidate if no element qualifies.
+    *
+    * @param <T>     This is the type parameter
+    * @param part    the elements to scan
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @param sign    1 for the ceiling, -1 for the floor
+    * @return        the bound
+    */
+   private static <T> Candidate<T> bound(Spliterator<T> part, final T key,
+                                         final Comparator<T> comp,
+                                         final int sign) {
+      final Candidate<T> bound = new Candidate<T>();
+      part.forEachRemaining(
+         val -> {
+            if (sign * comp.compare(val, key) >= 0
+                  && (!bound.found
+                     || sign * comp.compare(val, bound.value) <= 0)) {
+               bound.set(val);
+            }
+         });
+      return bound;
+   }
+
+   /**
+    * Returns a read-only view of list that the methods of this class
+    * recognize as already sorted by comp, so that they can binary search it
+    * instead of scanning it. The caller guarantees that list is in
+    * ascending order by comp; this is not checked. Only queries made with
+    * the same Comparator object use the fast paths. If either list or comp
+    * is null, or if list does not implement RandomAccess, this method
+    * throws an IllegalArgumentException.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a random-access List in ascending order by comp
+    * @param comp    the Comparator that list is sorted by
+    * @return        a view of list flagged as sorted
+    * @throws        IllegalArgumentException as per above
+    */
+   public static <T> List<T> sorted(List<T> list, Comparator<T> comp) {
+      if (list == null || comp == null || !(list instanceof RandomAccess)) {
+         throw new IllegalArgumentException("null or not RandomAccess");
+      }
+      return SortedInput.flag(list, comp);
+   }
+
+
+   /**
+    * Returns a Comparator that imposes the reverse of the order of comp.
+    *
+    * @param <T>     This is the type parameter
+    * @param comp    the Comparator to reverse
+    * @return        the reversed Comparator
+    */
+   private static <T> Comparator<T> reverse(final Comparator<T> comp) {
+      return
+         new Comparator<T>() {
+            public int compare(T t1, T t2) {
+               return comp.compare(t2, t1);
+            }
+         };
+   }
+
+
+   /**
+    * The running result of a scan over one piece of a parallel variant.
+    * Whether a candidate was found is kept apart from the candidate, which
+    * may itself be null when comp accepts null elements.
+    *
+    * @param <T> type variable
+    */
+   private static final class Candidate<T> {
+
+      /** whether value holds a candidate. */
+      private boolean found;
+
+      /** the candidate, if found. */
+      private T value;
+
+      /**
+       * Makes val the candidate.
+       *
+       * @param val the new candidate
+       */
+      void set(T val) {
+         value = val;
+         found = true;
+      }
+   }
+
 }
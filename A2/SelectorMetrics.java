@@ -0,0 +1,496 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SelectorMetrics.java.
+ * Optional instrumentation for the sequential Selector methods. While
+ * enabled, every call records, under its Operation, the number of
+ * comparator invocations, the number of elements scanned, the number of
+ * elements copied into snapshots, the bytes the calling thread allocated,
+ * and its latency in a power-of-two histogram. Totals are read with
+ * snapshot and cleared with reset.
+ *
+ * Instrumentation is off by default. While it is off a Selector call pays
+ * for one volatile read: start hands back a shared no-op Probe, which
+ * returns the comparator it is given unwrapped and ignores every count.
+ * The counts of a call are kept in its Probe and added to the shared
+ * totals once, when it finishes.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+public final class SelectorMetrics {
+
+   /** The instrumented Selector methods. */
+   public enum Operation { MIN, MAX, KMIN, KMAX, BOTTOM_K, TOP_K, RANGE,
+                           CEILING, FLOOR, CEILINGS, FLOORS }
+
+   /** Number of latency buckets; see Snapshot.latencyBucket. */
+   public static final int BUCKETS = 64;
+
+   /** whether calls are being recorded. */
+   private static volatile boolean enabled;
+
+   /** running totals for each operation. */
+   private static final Map<Operation, Totals> TOTALS =
+      new EnumMap<Operation, Totals>(Operation.class);
+
+   static {
+      for (Operation op : Operation.values()) {
+         TOTALS.put(op, new Totals());
+      }
+   }
+
+   /** source of per-thread allocation counts, or null if unsupported. */
+   private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+   /**
+    * Can't instantiate this class.
+    *
+    */
+   private SelectorMetrics() { }
+
+
+   /**
+    * Starts recording Selector calls.
+    *
+    */
+   public static void enable() {
+      enabled = true;
+   }
+
+
+   /**
+    * Stops recording Selector calls. Totals recorded so far are kept.
+    *
+    */
+   public static void disable() {
+      enabled = false;
+   }
+
+
+   /**
+    * Returns true if Selector calls are being recorded.
+    *
+    * @return        true if enabled
+    */
+   public static boolean isEnabled() {
+      return enabled;
+   }
+
+
+   /**
+    * Clears the totals of every operation.
+    *
+    */
+   public static void reset() {
+      for (Totals t : TOTALS.values()) {
+         t.reset();
+      }
+   }
+
+
+   /**
+    * Returns the totals recorded for op since the last reset. Calls that
+    * finish while the snapshot is taken may be partly included.
+    *
+    * @param op      the operation
+    * @return        a copy of its totals
+    * @throws        IllegalArgumentException if op is null
+    */
+   public static Snapshot snapshot(Operation op) {
+      // op is null
+      if (op == null) {
+         throw new IllegalArgumentException("null");
+      }
+      return TOTALS.get(op).snapshot();
+   }
+
+
+   /**
+    * Returns a Probe for one call of op: a recording one if instrumentation
+    * is enabled, or the shared no-op one otherwise.
+    *
+    * @param op      the operation being called
+    * @return        the Probe for the call
+    */
+   static Probe start(Operation op) {
+      if (!enabled) {
+         return Probe.NOOP;
+      }
+      return new Live(TOTALS.get(op));
+   }
+
+
+   /**
+    * Returns the comparator that comp counts calls to, or comp itself if
+    * it is not a counting wrapper.
+    *
+    * @param <T>     This is the type parameter
+    * @param comp    a comparator, possibly wrapped by a Probe
+    * @return        the unwrapped comparator
+    */
+   static <T> Comparator<T> unwrap(Comparator<T> comp) {
+      if (comp instanceof Counting) {
+         return ((Counting<T>) comp).comp;
+      }
+      return comp;
+   }
+
+
+   /**
+    * Returns the bytes allocated so far by the current thread, or 0 if the
+    * JVM cannot report it.
+    *
+    * @return        allocated bytes
+    */
+   private static long allocated() {
+      return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+   }
+
+
+   /**
+    * Returns the platform thread bean if it reports allocation, else null.
+    *
+    * @return        the bean, or null
+    */
+   private static com.sun.management.ThreadMXBean threads() {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+         com.sun.management.ThreadMXBean sun =
+            (com.sun.management.ThreadMXBean) bean;
+         if (sun.isThreadAllocatedMemorySupported()) {
+            return sun;
+         }
+      }
+      return null;
+   }
+
+
+   /**
+    * Records one Selector call. This base class records nothing.
+    *
+    */
+   static class Probe {
+
+      /** the shared no-op Probe. */
+      static final Probe NOOP = new Probe();
+
+      /**
+       * Returns a comparator that counts its calls for this Probe.
+       *
+       * @param <T>     This is the type parameter
+       * @param comp    the comparator, possibly null
+       * @return        comp, wrapped if recording
+       */
+      <T> Comparator<T> wrap(Comparator<T> comp) {
+         return comp;
+      }
+
+      /**
+       * Records that n elements were scanned.
+       *
+       * @param n       number of elements
+       */
+      void scanned(long n) { }
+
+      /**
+       * Records that n elements were copied.
+       *
+       * @param n       number of elements
+       */
+      void copied(long n) { }
+
+      /**
+       * Ends the call and adds its counts to the totals.
+       *
+       */
+      void stop() { }
+   }
+
+
+   /**
+    * A Probe that records.
+    *
+    */
+   private static final class Live extends Probe {
+
+      /** the totals this call is added to. */
+      private final Totals totals;
+
+      /** when the call started, and the bytes allocated by then. */
+      private final long startNanos;
+      private final long startBytes;
+
+      /** counts for this call. */
+      private long comparisons;
+      private long scanned;
+      private long copied;
+
+      /**
+       * Starts recording a call.
+       *
+       * @param totals  the totals this call is added to
+       */
+      Live(Totals totals) {
+         this.totals = totals;
+         startBytes = allocated();
+         startNanos = System.nanoTime();
+      }
+
+      @Override
+      <T> Comparator<T> wrap(Comparator<T> comp) {
+         if (comp == null) {
+            return null;
+         }
+         return new Counting<T>(comp, this);
+      }
+
+      @Override
+      void scanned(long n) {
+         scanned += n;
+      }
+
+      @Override
+      void copied(long n) {
+         copied += n;
+      }
+
+      @Override
+      void stop() {
+         long nanos = System.nanoTime() - startNanos;
+         totals.calls.increment();
+         totals.comparisons.add(comparisons);
+         totals.scanned.add(scanned);
+         totals.copied.add(copied);
+         totals.bytes.add(allocated() - startBytes);
+         totals.latency[BUCKETS - Long.numberOfLeadingZeros(nanos)]
+            .increment();
+      }
+   }
+
+
+   /**
+    * A comparator that counts its calls for a Probe.
+    *
+    * @param <T> type variable
+    */
+   private static final class Counting<T> implements Comparator<T> {
+
+      /** the comparator being counted. */
+      private final Comparator<T> comp;
+
+      /** the Probe that owns the count. */
+      private final Live probe;
+
+      /**
+       * Wraps comp.
+       *
+       * @param comp    the comparator being counted
+       * @param probe   the Probe that owns the count
+       */
+      Counting(Comparator<T> comp, Live probe) {
+         this.comp = comp;
+         this.probe = probe;
+      }
+
+      @Override
+      public int compare(T a, T b) {
+         probe.comparisons++;
+         return comp.compare(a, b);
+      }
+   }
+
+
+   /**
+    * Running totals of one operation.
+    *
+    */
+   private static final class Totals {
+
+      /** counters, each summed over every recorded call. */
+      private final LongAdder calls = new LongAdder();
+      private final LongAdder comparisons = new LongAdder();
+      private final LongAdder scanned = new LongAdder();
+      private final LongAdder copied = new LongAdder();
+      private final LongAdder bytes = new LongAdder();
+      private final LongAdder[] latency = new LongAdder[BUCKETS];
+
+      /**
+       * Creates zeroed totals.
+       *
+       */
+      Totals() {
+         for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LongAdder();
+         }
+      }
+
+      /**
+       * Zeroes every counter.
+       *
+       */
+      void reset() {
+         calls.reset();
+         comparisons.reset();
+         scanned.reset();
+         copied.reset();
+         bytes.reset();
+         for (LongAdder bucket : latency) {
+            bucket.reset();
+         }
+      }
+
+      /**
+       * Returns a copy of the counters.
+       *
+       * @return        the snapshot
+       */
+      Snapshot snapshot() {
+         long[] hist = new long[latency.length];
+         for (int i = 0; i < hist.length; i++) {
+            hist[i] = latency[i].sum();
+         }
+         return new Snapshot(calls.sum(), comparisons.sum(), scanned.sum(),
+                             copied.sum(), bytes.sum(), hist);
+      }
+   }
+
+
+   /**
+    * The totals of one operation at one point in time.
+    *
+    */
+   public static final class Snapshot {
+
+      /** the counters. */
+      private final long calls;
+      private final long comparisons;
+      private final long scanned;
+      private final long copied;
+      private final long bytes;
+      private final long[] latency;
+
+      /**
+       * Creates a snapshot.
+       *
+       * @param calls        number of calls
+       * @param comparisons  comparator invocations
+       * @param scanned      elements scanned
+       * @param copied       elements copied
+       * @param bytes        bytes allocated by the calling threads
+       * @param latency      latency histogram
+       */
+      Snapshot(long calls, long comparisons, long scanned, long copied,
+               long bytes, long[] latency) {
+         this.calls = calls;
+         this.comparisons = comparisons;
+         this.scanned = scanned;
+         this.copied = copied;
+         this.bytes = bytes;
+         this.latency = latency;
+      }
+
+      /**
+       * Returns the number of calls recorded.
+       *
+       * @return        number of calls
+       */
+      public long calls() {
+         return calls;
+      }
+
+      /**
+       * Returns the number of calls Selector made to the comparators it was
+       * given. Comparisons a NavigableSet makes internally are not seen.
+       *
+       * @return        comparator invocations
+       */
+      public long comparisons() {
+         return comparisons;
+      }
+
+      /**
+       * Returns the number of elements read from the input collections.
+       *
+       * @return        elements scanned
+       */
+      public long scanned() {
+         return scanned;
+      }
+
+      /**
+       * Returns the number of elements copied into arrays and result
+       * collections.
+       *
+       * @return        elements copied
+       */
+      public long copied() {
+         return copied;
+      }
+
+      /**
+       * Returns the bytes allocated by the calling threads during the
+       * calls, or 0 if the JVM cannot report it.
+       *
+       * @return        bytes allocated
+       */
+      public long allocatedBytes() {
+         return bytes;
+      }
+
+      /**
+       * Returns the number of calls whose latency in nanoseconds was in
+       * [2^(i-1) .. 2^i), with bucket 0 holding calls that took under a
+       * nanosecond.
+       *
+       * @param i       bucket, from 0 to BUCKETS - 1
+       * @return        number of calls in the bucket
+       * @throws        IllegalArgumentException if i is out of range
+       */
+      public long latencyBucket(int i) {
+         if (i < 0 || i >= latency.length) {
+            throw new IllegalArgumentException("no bucket");
+         }
+         return latency[i];
+      }
+
+      /**
+       * Returns an upper bound on the latency, in nanoseconds, of the
+       * fraction q of calls: the upper edge of the bucket holding the call
+       * of rank ceil(q * calls()).
+       *
+       * @param q       a fraction in (0..1]
+       * @return        latency bound, or 0 if no calls were recorded
+       * @throws        IllegalArgumentException if q is out of range
+       */
+      public long latencyPercentile(double q) {
+         if (!(q > 0 && q <= 1)) {
+            throw new IllegalArgumentException("q");
+         }
+         long rank = (long) Math.ceil(q * calls);
+         long seen = 0;
+         for (int i = 0; i < latency.length && rank > 0; i++) {
+            seen += latency[i];
+            if (seen >= rank) {
+               return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+            }
+         }
+         return 0;
+      }
+
+      @Override
+      public String toString() {
+         return "calls=" + calls + " comparisons=" + comparisons
+            + " scanned=" + scanned + " copied=" + copied
+            + " bytes=" + bytes + " p50<=" + latencyPercentile(0.5) + "ns"
+            + " p99<=" + latencyPercentile(0.99) + "ns";
+      }
+   }
+
+}
@@ -0,0 +1,66 @@
+import org.junit.Assert;
+// import static org.junit.Assert.*;
+// import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+
+public class SelectorMetricsTest {
+
+   /** A test. **/
+   @Test public void testCounts() {
+      List<Integer> list = new ArrayList<Integer>();
+      for (int i = 0; i < 100; i++) {
+         list.add(i % 10);
+      }
+      Comparator<Integer> comp = Comparator.naturalOrder();
+      SelectorMetrics.reset();
+      SelectorMetrics.enable();
+      try {
+         Selector.min(list, comp);
+         Selector.min(list, comp);
+         Selector.range(list, 2, 3, comp);
+      }
+      finally {
+         SelectorMetrics.disable();
+      }
+      SelectorMetrics.Snapshot min =
+         SelectorMetrics.snapshot(SelectorMetrics.Operation.MIN);
+      Assert.assertEquals(2, min.calls());
+      Assert.assertEquals(200, min.scanned());
+      Assert.assertEquals(200, min.comparisons());
+      long inBuckets = 0;
+      for (int i = 0; i < SelectorMetrics.BUCKETS; i++) {
+         inBuckets += min.latencyBucket(i);
+      }
+      Assert.assertEquals(2, inBuckets);
+      Assert.assertTrue(min.latencyPercentile(1.0) > 0);
+      SelectorMetrics.Snapshot range =
+         SelectorMetrics.snapshot(SelectorMetrics.Operation.RANGE);
+      Assert.assertEquals(1, range.calls());
+      Assert.assertEquals(20, range.copied());
+   }
+
+   /** A test. **/
+   @Test public void testDisabled() {
+      SelectorMetrics.reset();
+      Assert.assertFalse(SelectorMetrics.isEnabled());
+      List<Integer> list = new ArrayList<Integer>();
+      list.add(3);
+      list.add(1);
+      Assert.assertEquals(Integer.valueOf(3),
+         Selector.max(list, Comparator.<Integer>naturalOrder()));
+      Assert.assertEquals(0, SelectorMetrics.snapshot(
+         SelectorMetrics.Operation.MAX).calls());
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testLatencyPercentile_outOfRange() {
+      SelectorMetrics.snapshot(SelectorMetrics.Operation.KMIN)
+         .latencyPercentile(0.0);
+   }
+
+}
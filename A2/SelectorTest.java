@@ -0,0 +1,306 @@
+import org.junit.Assert;
+// import static org.junit.Assert.*;
+// import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+public class SelectorTest {
+
+   /** orders pairs by their first component only. */
+   private static final Comparator<int[]> FIRST =
+      Comparator.comparingInt(x -> x[0]);
+
+   /** A test. **/
+   @Test public void testKmin_tiesQuickselect() {
+      List<int[]> list = pairs(100, 3);
+      for (int run = 0; run < 50; run++) {
+         Assert.assertSame(list.get(0), Selector.kmin(list, 1, FIRST));
+         Assert.assertSame(list.get(1), Selector.kmin(list, 2, FIRST));
+         Assert.assertSame(list.get(2), Selector.kmin(list, 3, FIRST));
+         Assert.assertSame(list.get(2), Selector.kmax(list, 1, FIRST));
+         Assert.assertSame(list.get(0), Selector.kmax(list, 3, FIRST));
+      }
+   }
+
+   /** A test. **/
+   @Test public void testKmin_tiesSorted() {
+      List<int[]> list = pairs(20, 3);
+      Assert.assertSame(list.get(1), Selector.kmin(list, 2, FIRST));
+      Assert.assertSame(list.get(1), Selector.kmax(list, 2, FIRST));
+   }
+
+   /** A test. **/
+   @Test public void testKmin_equalNotIdentical() {
+      for (int n : new int[] {10, 200}) {
+         List<Integer> list = new ArrayList<Integer>();
+         for (int i = 0; i < n; i++) {
+            // values above 127 are not cached, so equal values differ
+            list.add(Integer.valueOf(1000 + i % 4));
+         }
+         Comparator<Integer> comp = Comparator.naturalOrder();
+         Assert.assertEquals(Integer.valueOf(1001),
+                             Selector.kmin(list, 2, comp));
+         Assert.assertEquals(Integer.valueOf(1000),
+                             Selector.kmax(list, 4, comp));
+         try {
+            Selector.kmin(list, 5, comp);
+            Assert.fail("expected NoSuchElementException");
+         }
+         catch (NoSuchElementException e) {
+            Assert.assertNotNull(e);
+         }
+      }
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testKmin_nullCollection() {
+      Selector.kmin(null, 1, FIRST);
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testKmax_nullComparator() {
+      Selector.kmax(pairs(5, 5), 1, null);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testKmin_empty() {
+      Selector.kmin(new ArrayList<int[]>(), 1, FIRST);
+   }
+
+   /** A test. **/
+   @Test public void testSorted_matchesScan() {
+      List<int[]> plain = new ArrayList<int[]>();
+      for (int i = 0; i < 60; i++) {
+         plain.add(new int[] {i / 4, i});
+      }
+      List<int[]> sorted = Selector.sorted(plain, FIRST);
+      Assert.assertSame(Selector.min(plain, FIRST),
+                        Selector.min(sorted, FIRST));
+      Assert.assertSame(Selector.max(plain, FIRST),
+                        Selector.max(sorted, FIRST));
+      for (int k = 1; k <= 15; k++) {
+         Assert.assertSame(Selector.kmin(plain, k, FIRST),
+                           Selector.kmin(sorted, k, FIRST));
+         Assert.assertSame(Selector.kmax(plain, k, FIRST),
+                           Selector.kmax(sorted, k, FIRST));
+      }
+      for (int key = 0; key < 15; key++) {
+         int[] probe = {key};
+         Assert.assertSame(Selector.ceiling(plain, probe, FIRST),
+                           Selector.ceiling(sorted, probe, FIRST));
+         Assert.assertSame(Selector.floor(plain, probe, FIRST),
+                           Selector.floor(sorted, probe, FIRST));
+      }
+      Assert.assertArrayEquals(
+         Selector.range(plain, new int[] {3}, new int[] {5}, FIRST).toArray(),
+         Selector.range(sorted, new int[] {3}, new int[] {5}, FIRST).toArray());
+   }
+
+   /** A test. **/
+   @Test public void testRange_sortedIsCopy() {
+      List<Integer> list = new ArrayList<Integer>();
+      for (int i = 0; i < 10; i++) {
+         list.add(i);
+      }
+      Comparator<Integer> comp = Comparator.naturalOrder();
+      java.util.Collection<Integer> result =
+         Selector.range(Selector.sorted(list, comp), 2, 4, comp);
+      list.set(3, 30);
+      result.add(99);
+      Assert.assertEquals(java.util.Arrays.asList(2, 3, 4, 99), result);
+      java.util.TreeSet<Integer> set = new java.util.TreeSet<Integer>(list);
+      result = Selector.range(set, 2, 4, comp);
+      set.remove(2);
+      Assert.assertEquals(java.util.Arrays.asList(2, 4),
+                          new ArrayList<Integer>(result));
+   }
+
+   /** A test. **/
+   @Test public void testRangeView_matchesRange() {
+      List<Integer> list = new ArrayList<Integer>();
+      java.util.Random rnd = new java.util.Random(12);
+      for (int i = 0; i < 5000; i++) {
+         list.add(rnd.nextInt(100));
+      }
+      Comparator<Integer> comp = Comparator.naturalOrder();
+      List<Integer> expected =
+         new ArrayList<Integer>(Selector.range(list, 20, 40, comp));
+      List<Integer> lazy = new ArrayList<Integer>();
+      for (Integer v : Selector.rangeView(list, 20, 40, comp)) {
+         lazy.add(v);
+      }
+      Assert.assertEquals(expected, lazy);
+      Assert.assertEquals(expected.size(),
+         Selector.rangeStream(list, 20, 40, comp).parallel().count());
+      Assert.assertFalse(
+         Selector.rangeView(list, 100, 200, comp).iterator().hasNext());
+      Iterable<Integer> view = Selector.rangeView(list, 100, 200, comp);
+      list.add(150);
+      Assert.assertEquals(Integer.valueOf(150), view.iterator().next());
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testRangeView_empty() {
+      Selector.rangeView(new ArrayList<Integer>(), 1, 2,
+                         Comparator.<Integer>naturalOrder());
+   }
+
+   /** A test. **/
+   @Test public void testParallel_matchesSequential() {
+      List<int[]> list = pairs(50000, 7);
+      java.util.Collections.shuffle(list, new java.util.Random(13));
+      Assert.assertSame(Selector.min(list, FIRST),
+                        Selector.parallelMin(list, FIRST));
+      Assert.assertSame(Selector.max(list, FIRST),
+                        Selector.parallelMax(list, FIRST));
+      for (int k = 1; k <= 7; k++) {
+         Assert.assertSame(Selector.kmin(list, k, FIRST),
+                           Selector.parallelKmin(list, k, FIRST));
+         Assert.assertSame(Selector.kmax(list, k, FIRST),
+                           Selector.parallelKmax(list, k, FIRST));
+      }
+      int[] key = {3};
+      Assert.assertSame(Selector.ceiling(list, key, FIRST),
+                        Selector.parallelCeiling(list, key, FIRST));
+      Assert.assertSame(Selector.floor(list, key, FIRST),
+                        Selector.parallelFloor(list, key, FIRST));
+      Assert.assertEquals(
+         new ArrayList<int[]>(Selector.range(list, key, key, FIRST)),
+         new ArrayList<int[]>(Selector.parallelRange(list, key, key, FIRST)));
+   }
+
+   /** A test. **/
+   @Test public void testParallel_nullElements() {
+      List<Integer> list = new ArrayList<Integer>();
+      for (int i = 0; i < 20000; i++) {
+         list.add(i % 5 == 0 ? null : Integer.valueOf(i));
+      }
+      Comparator<Integer> comp =
+         Comparator.nullsFirst(Comparator.<Integer>naturalOrder());
+      Assert.assertNull(Selector.parallelMin(list, comp));
+      Assert.assertEquals(Integer.valueOf(19999),
+                          Selector.parallelMax(list, comp));
+      Assert.assertNull(Selector.parallelFloor(list, null, comp));
+      Assert.assertNull(Selector.parallelCeiling(list, null, comp));
+      Assert.assertEquals(Integer.valueOf(1),
+                          Selector.parallelCeiling(list, 0, comp));
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testParallelCeiling_none() {
+      Selector.parallelCeiling(pairs(20000, 3), new int[] {3}, FIRST);
+   }
+
+   /** A test. **/
+   @Test public void testBottomTopK_matchKth() {
+      List<int[]> list = pairs(300, 11);
+      java.util.Collections.shuffle(list, new java.util.Random(14));
+      List<int[]> sorted = new ArrayList<int[]>(list);
+      sorted.sort(FIRST);
+      for (List<int[]> in : java.util.Arrays.asList(list,
+                                 Selector.sorted(sorted, FIRST))) {
+         List<int[]> bottom = Selector.bottomK(in, 11, FIRST);
+         List<int[]> top = Selector.topK(in, 11, FIRST);
+         for (int i = 0; i < 11; i++) {
+            Assert.assertSame(Selector.kmin(list, i + 1, FIRST),
+                              bottom.get(i));
+            Assert.assertSame(Selector.kmax(list, i + 1, FIRST),
+                              top.get(i));
+         }
+      }
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testTopK_tooFewDistinct() {
+      Selector.topK(pairs(30, 3), 4, FIRST);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testBottomK_sortedTooFewDistinct() {
+      Selector.bottomK(Selector.sorted(pairs(30, 30), FIRST), 31, FIRST);
+   }
+
+   /** A test. **/
+   @Test public void testCeilingsFloors_matchSingle() {
+      List<int[]> list = new ArrayList<int[]>();
+      java.util.Random rnd = new java.util.Random(18);
+      for (int i = 0; i < 200; i++) {
+         list.add(new int[] {2 * rnd.nextInt(30) + 10, i});
+      }
+      List<int[]> keys = new ArrayList<int[]>();
+      for (int i = 0; i < 60; i++) {
+         keys.add(new int[] {rnd.nextInt(90)});
+      }
+      List<int[]> sorted = new ArrayList<int[]>(list);
+      sorted.sort(FIRST);
+      for (List<int[]> in : java.util.Arrays.asList(list,
+                                 Selector.sorted(sorted, FIRST))) {
+         List<int[]> ceils = Selector.ceilings(in, keys, FIRST);
+         List<int[]> floors = Selector.floors(in, keys, FIRST);
+         Assert.assertEquals(keys.size(), ceils.size());
+         for (int i = 0; i < keys.size(); i++) {
+            Assert.assertSame(single(in, keys.get(i), true), ceils.get(i));
+            Assert.assertSame(single(in, keys.get(i), false), floors.get(i));
+         }
+      }
+   }
+
+   /** A test. **/
+   @Test(expected = IllegalArgumentException.class)
+   public void testCeilings_nullKeys() {
+      Selector.ceilings(pairs(5, 5), null, FIRST);
+   }
+
+   /** A test. **/
+   @Test(expected = NoSuchElementException.class)
+   public void testFloors_empty() {
+      Selector.floors(new ArrayList<int[]>(), pairs(5, 5), FIRST);
+   }
+
+   /**
+    * Returns ceiling (or floor) of key in coll by FIRST, or null if there
+    * is none.
+    *
+    * @param coll the pairs
+    * @param key the reference pair
+    * @param ceiling true for the ceiling, false for the floor
+    * @return the bound, or null
+    */
+   private static int[] single(List<int[]> coll, int[] key,
+                               boolean ceiling) {
+      try {
+         return ceiling ? Selector.ceiling(coll, key, FIRST)
+                        : Selector.floor(coll, key, FIRST);
+      }
+      catch (NoSuchElementException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Returns the pairs {i % mod, i} for i in 0..n-1.
+    *
+    * @param n number of pairs
+    * @param mod number of distinct first components
+    * @return the pairs, in order of i
+    */
+   private static List<int[]> pairs(int n, int mod) {
+      List<int[]> list = new ArrayList<int[]>(n);
+      for (int i = 0; i < n; i++) {
+         list.add(new int[] {i % mod, i});
+      }
+      return list;
+   }
+
+}
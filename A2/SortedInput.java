@@ -0,0 +1,336 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.SortedSet;
+
+/**
+ * SortedInput.java.
+ * Recognizes Collections that are already ordered by the Comparator a
+ * Selector method was given, and answers selection queries on them by
+ * navigation or binary search instead of by scanning. Two kinds of input
+ * are recognized: a NavigableSet whose comparator imposes the same order,
+ * and a random-access List wrapped by Selector.sorted.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+final class SortedInput {
+
+   /**
+    * Can't instantiate this class.
+    *
+    */
+   private SortedInput() { }
+
+
+   /**
+    * Returns coll as a NavigableSet if it is one whose order is the order
+    * of comp, or null otherwise. A comp wrapped by SelectorMetrics is
+    * matched by the comparator it wraps.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection to check
+    * @param comp    the Comparator that defines the total order on T
+    * @return        coll as a NavigableSet, or null
+    */
+   @SuppressWarnings("unchecked")
+   static <T> NavigableSet<T> asSet(Collection<T> coll, Comparator<T> comp) {
+      comp = SelectorMetrics.unwrap(comp);
+      if (coll instanceof NavigableSet
+            && sameOrder(((SortedSet<T>) coll).comparator(), comp)) {
+         return (NavigableSet<T>) coll;
+      }
+      return null;
+   }
+
+
+   /**
+    * Returns coll as a List if it was flagged sorted by comp through
+    * Selector.sorted, or null otherwise. A comp wrapped by SelectorMetrics
+    * is matched by the comparator it wraps.
+    *
+    * @param <T>     This is the type parameter
+    * @param coll    the Collection to check
+    * @param comp    the Comparator that defines the total order on T
+    * @return        coll as a sorted List, or null
+    */
+   static <T> List<T> asList(Collection<T> coll, Comparator<T> comp) {
+      comp = SelectorMetrics.unwrap(comp);
+      if (coll instanceof Sorted && ((Sorted<T>) coll).comp == comp) {
+         return (Sorted<T>) coll;
+      }
+      return null;
+   }
+
+
+   /**
+    * Returns a read-only view of list that is recognized as sorted by comp.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a random-access List in ascending order by comp
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the flagged view
+    */
+   static <T> List<T> flag(List<T> list, Comparator<T> comp) {
+      return new Sorted<T>(list, comp);
+   }
+
+
+   /**
+    * Returns the index of the first element of list that is greater than or
+    * equal to key, or list.size() if there is none.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a List in ascending order by comp
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the lower bound of key
+    */
+   static <T> int lowerBound(List<T> list, T key, Comparator<T> comp) {
+      int lo = 0;
+      int hi = list.size();
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (comp.compare(list.get(mid), key) < 0) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+
+   /**
+    * Returns the index of the first element of list that is greater than
+    * key, or list.size() if there is none.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a List in ascending order by comp
+    * @param key     the reference value
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the upper bound of key
+    */
+   static <T> int upperBound(List<T> list, T key, Comparator<T> comp) {
+      int lo = 0;
+      int hi = list.size();
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (comp.compare(list.get(mid), key) <= 0) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+      return lo;
+   }
+
+
+   /**
+    * Returns the kth smallest distinct value of a sorted list, jumping over
+    * each run of equal values with a binary search. The first element of
+    * the run is returned. Takes O(k log n) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a non-empty List in ascending order by comp
+    * @param k       the k-selection value, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth minimum value
+    * @throws        NoSuchElementException if there is no kth minimum
+    */
+   static <T> T kmin(List<T> list, int k, Comparator<T> comp) {
+      int i = 0;
+      for (int run = 1; run < k; run++) {
+         i = upperBound(list, list.get(i), comp);
+         if (i == list.size()) {
+            throw new NoSuchElementException("no kth min");
+         }
+      }
+      return list.get(i);
+   }
+
+
+   /**
+    * Returns the kth largest distinct value of a sorted list, jumping over
+    * each run of equal values with a binary search. The first element of
+    * the run is returned. Takes O(k log n) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a non-empty List in ascending order by comp
+    * @param k       the k-selection value, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the kth maximum value
+    * @throws        NoSuchElementException if there is no kth maximum
+    */
+   static <T> T kmax(List<T> list, int k, Comparator<T> comp) {
+      int i = lowerBound(list, list.get(list.size() - 1), comp);
+      for (int run = 1; run < k; run++) {
+         if (i == 0) {
+            throw new NoSuchElementException("no kth max");
+         }
+         i = lowerBound(list, list.get(i - 1), comp);
+      }
+      return list.get(i);
+   }
+
+
+   /**
+    * Returns the k smallest distinct values of a sorted list in ascending
+    * order, jumping over each run of equal values with a binary search.
+    * Takes O(k log n) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a non-empty List in ascending order by comp
+    * @param k       the number of values, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the first value of each of the first k runs
+    * @throws        NoSuchElementException if there are fewer than k runs
+    */
+   static <T> List<T> bottomK(List<T> list, int k, Comparator<T> comp) {
+      List<T> vals = new ArrayList<T>(k);
+      int i = 0;
+      while (vals.size() < k) {
+         if (i == list.size()) {
+            throw new NoSuchElementException("no kth min");
+         }
+         vals.add(list.get(i));
+         i = upperBound(list, list.get(i), comp);
+      }
+      return vals;
+   }
+
+
+   /**
+    * Returns the k largest distinct values of a sorted list in descending
+    * order, jumping over each run of equal values with a binary search.
+    * Takes O(k log n) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param list    a non-empty List in ascending order by comp
+    * @param k       the number of values, at least 1
+    * @param comp    the Comparator that defines the total order on T
+    * @return        the first value of each of the last k runs
+    * @throws        NoSuchElementException if there are fewer than k runs
+    */
+   static <T> List<T> topK(List<T> list, int k, Comparator<T> comp) {
+      List<T> vals = new ArrayList<T>(k);
+      int i = list.size();
+      while (vals.size() < k) {
+         if (i == 0) {
+            throw new NoSuchElementException("no kth max");
+         }
+         i = lowerBound(list, list.get(i - 1), comp);
+         vals.add(list.get(i));
+      }
+      return vals;
+   }
+
+
+   /**
+    * Returns the first k elements produced by itr, which walks a set in
+    * order. Takes O(k) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param itr     an iterator over distinct values
+    * @param k       the number of elements, at least 1
+    * @return        the first k elements
+    * @throws        NoSuchElementException if there are fewer than k
+    */
+   static <T> List<T> firstK(Iterator<T> itr, int k) {
+      List<T> vals = new ArrayList<T>(k);
+      while (vals.size() < k) {
+         if (!itr.hasNext()) {
+            throw new NoSuchElementException("no kth value");
+         }
+         vals.add(itr.next());
+      }
+      return vals;
+   }
+
+   /**
+    * Returns the kth element produced by itr, which walks a set in order.
+    * Takes O(k) time.
+    *
+    * @param <T>     This is the type parameter
+    * @param itr     an iterator over distinct values
+    * @param k       the k-selection value, at least 1
+    * @return        the kth element
+    * @throws        NoSuchElementException if there is no kth element
+    */
+   static <T> T kth(Iterator<T> itr, int k) {
+      T val = itr.next();
+      for (int i = 1; i < k; i++) {
+         if (!itr.hasNext()) {
+            throw new NoSuchElementException("no kth value");
+         }
+         val = itr.next();
+      }
+      return val;
+   }
+
+
+   /**
+    * Returns true if a set ordered by setComp is ordered by comp. A null
+    * setComp denotes natural ordering.
+    *
+    * @param <T>     This is the type parameter
+    * @param setComp the comparator of a SortedSet, possibly null
+    * @param comp    the Comparator that defines the total order on T
+    * @return        true if the two define the same order
+    */
+   private static <T> boolean sameOrder(Comparator<? super T> setComp,
+                                        Comparator<T> comp) {
+      if (setComp == null) {
+         return comp == Comparator.naturalOrder();
+      }
+      return setComp == comp || setComp.equals(comp);
+   }
+
+
+   /**
+    * A read-only random-access view of a List that is known to be sorted
+    * by a particular Comparator.
+    *
+    * @param <T> type variable
+    */
+   private static final class Sorted<T> extends AbstractList<T>
+                                        implements RandomAccess {
+
+      /** the sorted list. */
+      private final List<T> list;
+
+      /** the Comparator the list is sorted by. */
+      private final Comparator<T> comp;
+
+      /**
+       * Wraps list.
+       *
+       * @param list  a List in ascending order by comp
+       * @param comp  the Comparator the list is sorted by
+       */
+      Sorted(List<T> list, Comparator<T> comp) {
+         this.list = list;
+         this.comp = comp;
+      }
+
+      @Override
+      public T get(int index) {
+         return list.get(index);
+      }
+
+      @Override
+      public int size() {
+         return list.size();
+      }
+   }
+
+}
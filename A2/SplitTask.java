@@ -0,0 +1,84 @@
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * SplitTask.java.
+ * A fork-join reduction over the elements of a Spliterator. The
+ * Spliterator is split with trySplit until the pieces are small, each
+ * piece is reduced by a leaf function, and partial results are combined
+ * pairwise. For an ORDERED source trySplit hands out a prefix, so the
+ * combiner always receives the earlier part's result as its first
+ * argument and can break ties exactly as a sequential scan would.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ * @param <T> type of the elements
+ * @param <R> type of the partial results
+ *
+ */
+final class SplitTask<T, R> extends RecursiveTask<R> {
+
+   private static final long serialVersionUID = 1L;
+
+   /** pieces with at most this many elements are reduced directly. */
+   static final long THRESHOLD = 1 << 13;
+
+   /** the elements of this piece. */
+   private final transient Spliterator<T> part;
+
+   /** reduces one piece. */
+   private final transient Function<Spliterator<T>, R> leaf;
+
+   /** combines the results of an earlier and a later piece. */
+   private final transient BinaryOperator<R> combine;
+
+   /**
+    * Creates a task over part.
+    *
+    * @param part     the elements of this piece
+    * @param leaf     reduces one piece
+    * @param combine  combines an earlier and a later result
+    */
+   private SplitTask(Spliterator<T> part, Function<Spliterator<T>, R> leaf,
+                     BinaryOperator<R> combine) {
+      this.part = part;
+      this.leaf = leaf;
+      this.combine = combine;
+   }
+
+   /**
+    * Reduces the elements of source in parallel on the common pool.
+    *
+    * @param <T>      type of the elements
+    * @param <R>      type of the partial results
+    * @param source   the elements to reduce
+    * @param leaf     reduces one piece
+    * @param combine  combines an earlier and a later result
+    * @return         the combined result
+    */
+   static <T, R> R reduce(Spliterator<T> source,
+                          Function<Spliterator<T>, R> leaf,
+                          BinaryOperator<R> combine) {
+      return ForkJoinPool.commonPool().invoke(
+                new SplitTask<T, R>(source, leaf, combine));
+   }
+
+   @Override
+   protected R compute() {
+      Spliterator<T> prefix = null;
+      if (part.estimateSize() > THRESHOLD) {
+         prefix = part.trySplit();
+      }
+      if (prefix == null) {
+         return leaf.apply(part);
+      }
+      SplitTask<T, R> first = new SplitTask<T, R>(prefix, leaf, combine);
+      first.fork();
+      R second = new SplitTask<T, R>(part, leaf, combine).compute();
+      return combine.apply(first.join(), second);
+   }
+
+}
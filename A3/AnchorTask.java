@@ -0,0 +1,145 @@
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * AnchorTask.java.
+ * Finds, in parallel, the maximal line segments whose first point is one of
+ * a range of anchors, for Extractor.getLinesParallel. An anchor's work is
+ * proportional to the number of points after it, so ranges are split where
+ * the work, not the count, is halved. Each leaf allocates its scratch
+ * arrays once and fills its own line set; sets are merged as tasks join.
+ *
+ * @author  Anastasia Kotova (azk0108@auburn.edu)
+ * @version 09/30/2019
+ *
+ */
+final class AnchorTask extends RecursiveTask<SortedSet<CompactLine>> {
+
+   private static final long serialVersionUID = 1L;
+
+   /** leaves per pool thread, so that idle threads have work to steal. */
+   private static final int LEAVES_PER_THREAD = 8;
+
+   /** distinct points in ascending natural order, as coordinates. */
+   private final transient int[] xs;
+   private final transient int[] ys;
+
+   /** anchors of this task: points lo..hi-1. */
+   private final int lo;
+   private final int hi;
+
+   /** ranges with at most this much work are run directly. */
+   private final long grain;
+
+   /**
+    * Creates a task for the anchors lo..hi-1 of the points (xs[i], ys[i]),
+    * which are distinct and in ascending natural order.
+    *
+    * @param xs x-coordinates of the points
+    * @param ys y-coordinates of the points
+    * @param lo first anchor, inclusive
+    * @param hi last anchor, exclusive
+    */
+   AnchorTask(int[] xs, int[] ys, int lo, int hi) {
+      this(xs, ys, lo, hi, Math.max(1, work(xs.length, lo, hi)
+             / ((long) ForkJoinPool.getCommonPoolParallelism()
+                * LEAVES_PER_THREAD)));
+   }
+
+   /**
+    * Creates a task with the given grain.
+    *
+    * @param xs x-coordinates of the points
+    * @param ys y-coordinates of the points
+    * @param lo first anchor, inclusive
+    * @param hi last anchor, exclusive
+    * @param grain the most work run directly
+    */
+   private AnchorTask(int[] xs, int[] ys, int lo, int hi, long grain) {
+      this.xs = xs;
+      this.ys = ys;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+   }
+
+   @Override
+   protected SortedSet<CompactLine> compute() {
+      int n = xs.length;
+      if (hi - lo < 2 || work(n, lo, hi) <= grain) {
+         SortedSet<CompactLine> out = new TreeSet<CompactLine>();
+         long[] slope = new long[n - lo];
+         int[] index = new int[n - lo];
+         long[] before = new long[hi];
+         for (int i = lo; i < hi; i++) {
+            Extractor.anchorLines(xs, ys, i, slope, index, before, out);
+         }
+         return out;
+      }
+      int mid = split(n, lo, hi);
+      AnchorTask first = new AnchorTask(xs, ys, lo, mid, grain);
+      first.fork();
+      SortedSet<CompactLine> second =
+         new AnchorTask(xs, ys, mid, hi, grain).compute();
+      SortedSet<CompactLine> result = first.join();
+      // the sets are disjoint; copy the smaller into the larger
+      if (result.size() < second.size()) {
+         SortedSet<CompactLine> t = result;
+         result = second;
+         second = t;
+      }
+      result.addAll(second);
+      return result;
+   }
+
+   /**
+    * Returns the work of the anchors lo..hi-1 among n points: the number
+    * of points after each, summed.
+    *
+    * @param n number of points
+    * @param lo first anchor, inclusive
+    * @param hi last anchor, exclusive
+    * @return the work
+    */
+   private static long work(int n, int lo, int hi) {
+      return done(n, hi) - done(n, lo);
+   }
+
+   /**
+    * Returns the work of the anchors 0..a-1 among n points.
+    *
+    * @param n number of points
+    * @param a number of anchors
+    * @return the work
+    */
+   private static long done(int n, long a) {
+      return a * (n - 1) - a * (a - 1) / 2;
+   }
+
+   /**
+    * Returns the anchor in (lo..hi) that best halves the work of lo..hi-1.
+    *
+    * @param n number of points
+    * @param lo first anchor, inclusive
+    * @param hi last anchor, exclusive
+    * @return the split point
+    */
+   private static int split(int n, int lo, int hi) {
+      long half = done(n, lo) + work(n, lo, hi) / 2;
+      int a = lo + 1;
+      int b = hi - 1;
+      while (a < b) {
+         int m = (a + b) >>> 1;
+         if (done(n, m) < half) {
+            a = m + 1;
+         }
+         else {
+            b = m;
+         }
+      }
+      return a;
+   }
+
+}
@@ -0,0 +1,218 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * CompactLine.java
+ * Models a line segment as an immutable sorted array of points, each
+ * packed into a long with y in the high 32 bits and x in the low 32 bits.
+ * Coordinates are never negative, so packed points sort in the natural
+ * order of Point. A CompactLine is one object and one array, where a Line
+ * has a TreeSet entry and a Point per point, and it orders, compares,
+ * iterates and prints exactly as a Line with the same points.
+ *
+ * @author  Anastasia Kotova (azk0108@auburn.edu)
+ * @version 09/30/2019
+ *
+ */
+public final class CompactLine implements Comparable<CompactLine>,
+                                          Iterable<Point> {
+
+   /** the points of this line, packed, ascending and distinct. */
+   private final long[] coords;
+
+   /**
+    * Creates a line with the same points as line.
+    *
+    * @param line Line object
+    */
+   public CompactLine(Line line) {
+      coords = new long[line.length()];
+      int i = 0;
+      for (Point p : line) {
+         coords[i++] = pack(p.getX(), p.getY());
+      }
+   }
+
+   /**
+    * Creates a line from packed points, which must be collinear, distinct
+    * and ascending. The array is kept, not copied.
+    *
+    * @param coords packed points
+    */
+   CompactLine(long[] coords) {
+      this.coords = coords;
+   }
+
+   /**
+    * Returns the point (x, y) packed into a long.
+    *
+    * @param x x-coordinate
+    * @param y y-coordinate
+    * @return packed point
+    */
+   static long pack(int x, int y) {
+      return ((long) y << 32) | x;
+   }
+
+   /**
+    * Returns the Point packed into c.
+    *
+    * @param c packed point
+    * @return Point object
+    */
+   static Point unpack(long c) {
+      return new Point((int) c, (int) (c >>> 32));
+   }
+
+   /**
+    * Returns the first (minimum) point in this line or null if this line
+    * contains no points.
+    *
+    * @return first Point object
+    */
+   public Point first() {
+      if (coords.length == 0) {
+         return null;
+      }
+      return unpack(coords[0]);
+   }
+
+   /**
+    * Returns the last (maximum) point in this line or null if this line
+    * contains no points.
+    *
+    * @return last Point object
+    */
+   public Point last() {
+      if (coords.length == 0) {
+         return null;
+      }
+      return unpack(coords[coords.length - 1]);
+   }
+
+   /**
+    * Returns the number of points in this line.
+    *
+    * @return number of points in this line
+    */
+   public int length() {
+      return coords.length;
+   }
+
+   /**
+    * Returns a Line with the same points as this line.
+    *
+    * @return Line object
+    */
+   public Line toLine() {
+      Line line = new Line();
+      for (long c : coords) {
+         line.add(unpack(c));
+      }
+      return line;
+   }
+
+   /**
+    * Compares this line with the specified line for order, as Line does:
+    * first by first point, then by last point, with an empty line less
+    * than any non-empty line.
+    *
+    * @param that CompactLine object for comparison
+    * @return some int value
+    */
+   @Override
+   public int compareTo(CompactLine that) {
+      // this is empty
+      if (coords.length == 0) {
+         return that.coords.length == 0 ? 0 : -1;
+      }
+      // that is empty
+      else if (that.coords.length == 0) {
+         return 1;
+      }
+      int ret = Long.compare(coords[0], that.coords[0]);
+      if (ret == 0) {
+         return Long.compare(coords[coords.length - 1],
+                             that.coords[that.coords.length - 1]);
+      }
+      return ret;
+   }
+
+   /**
+    * Provide an iterator over all the points in this line, in ascending
+    * natural order. Points are created as they are returned.
+    *
+    * @return iterator object
+    */
+   @Override
+   public Iterator<Point> iterator() {
+      return
+         new Iterator<Point>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+               return next < coords.length;
+            }
+
+            @Override
+            public Point next() {
+               if (next >= coords.length) {
+                  throw new NoSuchElementException();
+               }
+               return unpack(coords[next++]);
+            }
+         };
+   }
+
+   /**
+    * Return true if this line's first and last points are equal to the
+    * parameter's first and last points, as Line does.
+    *
+    * @param obj Object to check for equality
+    * @return boolean value
+    */
+   @Override
+   public boolean equals(Object obj) {
+      if (obj == this) {
+         return true;
+      }
+      if (!(obj instanceof CompactLine)) {
+         return false;
+      }
+      return compareTo((CompactLine) obj) == 0;
+   }
+
+   /**
+    * Returns a hash code that depends only on the first and last points.
+    *
+    * @return hash code
+    */
+   @Override
+   public int hashCode() {
+      if (coords.length == 0) {
+         return 0;
+      }
+      return Long.hashCode(coords[0]) * 31
+         + Long.hashCode(coords[coords.length - 1]);
+   }
+
+   /**
+    * Return a string representation of this line, as Line does.
+    *
+    * @return String concentration
+    */
+   @Override
+   public String toString() {
+      StringBuilder s = new StringBuilder();
+      for (int i = 0; i < coords.length; i++) {
+         if (i > 0) {
+            s.append(" -> ");
+         }
+         s.append('(').append((int) coords[i]).append(", ")
+            .append((int) (coords[i] >>> 32)).append(')');
+      }
+      return s.toString();
+   }
+
+}
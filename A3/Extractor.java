@@ -1,10 +1,10 @@
-import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.Scanner;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Extractor.java. Implements feature extraction for collinear points in
@@ -20,34 +20,30 @@ public class Extractor {
    /** raw data: all (x,y) points from source data. */
    private Point[] points;
    
+   /** the same points as coordinates; either may be built from the other. */
+   private PointStore store;
+   
    /** lines identified from raw data. */
    private SortedSet<Line> lines;
+   
+   /** ranges at most this long are sorted by insertion. */
+   private static final int INSERTION_SORT = 16;
   
    /**
     * Builds an extractor based on the points in the file named by filename.
+    * The file may be text or binary; see PointFile.
     * 
     * @param filename name of the input file 
+    * @throws IllegalArgumentException if the file cannot be read or is
+    *         malformed
     */
    public Extractor(String filename) {
-      int x, y;
-   
       try {
-         Scanner scan = new Scanner(new File(filename));
-      
-         int length = scan.nextInt();
-         points = new Point[length];
-      
-         for (int i = 0; scan.hasNext(); i++) {
-            x = scan.nextInt();
-            y = scan.nextInt();
-            points[i] = new Point(x, y);
-         }
+         store = PointFile.read(filename);
       }
-      catch (Exception e) {
-         System.out.println("File not found");
+      catch (IOException e) {
+         throw new IllegalArgumentException("cannot read " + filename, e);
       }
-   
-   
    }
   
    /**
@@ -61,6 +57,17 @@ public class Extractor {
       points = pcoll.toArray(new Point[]{});
    }
   
+   /**
+    * Builds an extractor based on the points in store, which is used, not
+    * copied. getLinesFaster, getLinesParallel and getCompactLines work on
+    * the coordinates and create Points only for the lines they report.
+    * 
+    * @param store the points
+    */
+   public Extractor(PointStore store) {
+      this.store = store;
+   }
+  
    /**
     * Returns a sorted set of all line segments of exactly four collinear
     * points. Uses a brute-force combinatorial strategy. Returns an empty set
@@ -71,6 +78,7 @@ public class Extractor {
    public SortedSet<Line> getLinesBrute() {
       lines = new TreeSet<Line>();
       Iterator itr = lines.iterator(); // checkstyle
+      ensurePoints();
       
       Point[] arr = Arrays.copyOf(points, points.length);
       Line currLine = new Line();
@@ -105,6 +113,7 @@ public class Extractor {
     */
    public SortedSet<Line> getLinesFast() {
       lines = new TreeSet<Line>();
+      ensurePoints();
       
       // copy points array
       Point[] copy = new Point[points.length];
@@ -144,4 +153,296 @@ public class Extractor {
       return lines;
    }
    
+   /**
+    * Returns the maximal line segments of at least four distinct collinear
+    * points. Unlike getLinesFast, this drops duplicate points first and
+    * compares slopes exactly, so the result matches getLinesFast only when
+    * the points are distinct and no two different slopes round to the same
+    * double. Points are put in natural order once, and each point is used
+    * as an anchor only for the points after it: their slopes are sorted
+    * together with their indices as primitive keys, so nothing is boxed.
+    * Rounding never splits equal slopes but can merge different ones, so a
+    * run of three or more equal doubles is split again by exact slope key
+    * (see Point.slopeKey), which is only computed for such runs. A run of
+    * three or more equal exact keys is a line through the anchor, and it
+    * is reported only if no earlier point lies on it, which makes the
+    * anchor the line's first point. Each maximal line is therefore built
+    * exactly once. Returns an empty set if there are no qualifying line
+    * segments.
+    *
+    * @return line segments
+    */
+   public SortedSet<Line> getLinesFaster() {
+      lines = toLines(getCompactLines());
+      return lines;
+   }
+   
+   /**
+    * Returns the line segments of getLinesFaster as CompactLines, which is
+    * how that search finds them: no Line, and no TreeSet of Points, is
+    * built. Returns an empty set if there are no qualifying line segments.
+    *
+    * @return line segments
+    */
+   public SortedSet<CompactLine> getCompactLines() {
+      SortedSet<CompactLine> found = new TreeSet<CompactLine>();
+      PointStore sorted = distinctSorted();
+      int n = sorted.size();
+      long[] slope = new long[n];
+      int[] index = new int[n];
+      long[] before = new long[n];
+      for (int i = 0; i + 3 < n; i++) {
+         anchorLines(sorted.xs(), sorted.ys(), i, slope, index, before,
+                     found);
+      }
+      return found;
+   }
+   
+   /**
+    * Returns the same sorted set of maximal line segments as getLinesFaster
+    * (duplicate points dropped, slopes compared exactly), with the anchors
+    * shared out among the threads of the common fork-join pool. Anchors
+    * are independent, so each task works on its own range of them with its
+    * own scratch arrays and line set, and the sets are merged when the
+    * tasks join. No line is found by two anchors, so the merge
+    * never discards work. Returns an empty set if there are no qualifying
+    * line segments.
+    *
+    * @return line segments
+    */
+   public SortedSet<Line> getLinesParallel() {
+      PointStore sorted = distinctSorted();
+      lines = toLines(ForkJoinPool.commonPool().invoke(
+                 new AnchorTask(sorted.xs(), sorted.ys(), 0,
+                                Math.max(0, sorted.size() - 3))));
+      return lines;
+   }
+   
+   /**
+    * Returns maximal line segments of at least four collinear points found
+    * by a Hough transform (see HoughDetector) with the given accumulator
+    * size. Duplicate points are dropped and membership is decided by exact
+    * slope keys, so every line returned is one getLinesFaster would
+    * return, but lines with too few votes in any one cell may be missed.
+    * Returns an empty set if no qualifying line segments are found.
+    *
+    * @param thetas number of angles in the accumulator
+    * @param rhos number of distances in the accumulator
+    * @param minVotes votes a cell needs to be searched, at least 4
+    * @return line segments
+    */
+   public SortedSet<Line> getLinesHough(int thetas, int rhos, int minVotes) {
+      lines = new HoughDetector(thetas, rhos, minVotes)
+                 .detect(distinctSorted().toArray());
+      return lines;
+   }
+   
+   /**
+    * Adds to out every maximal line segment whose first point is
+    * (xs[i], ys[i]), as described for getLinesFaster. The points must be
+    * distinct and in ascending natural order, and the scratch arrays must
+    * have room for n - i - 1 slopes and i earlier keys.
+    *
+    * @param xs x-coordinates of the points
+    * @param ys y-coordinates of the points
+    * @param i position of the anchor
+    * @param slope scratch keys
+    * @param index scratch positions
+    * @param before scratch keys of the earlier points
+    * @param out receives the line segments
+    */
+   static void anchorLines(int[] xs, int[] ys, int i, long[] slope,
+                           int[] index, long[] before,
+                           SortedSet<CompactLine> out) {
+      int n = xs.length;
+      int x = xs[i];
+      int y = ys[i];
+      int m = 0;
+      for (int j = i + 1; j < n; j++) {
+         slope[m] = order(Point.slope(x, y, xs[j], ys[j]));
+         index[m] = j;
+         m++;
+      }
+      sortByKey(slope, index, 0, m - 1);
+   
+      // exact slopes to the earlier points, computed when first needed
+      boolean haveBefore = false;
+      int lo = 0;
+      while (lo < m) {
+         int hi = lo + 1;
+         while (hi < m && slope[hi] == slope[lo]) {
+            hi++;
+         }
+         if (hi - lo >= 3) {
+            // equal doubles may still be different slopes: split the run by
+            // exact key
+            for (int k = lo; k < hi; k++) {
+               slope[k] = Point.slopeKey(x, y, xs[index[k]], ys[index[k]]);
+            }
+            sortByKey(slope, index, lo, hi - 1);
+            if (!haveBefore) {
+               for (int j = 0; j < i; j++) {
+                  before[j] = Point.slopeKey(x, y, xs[j], ys[j]);
+               }
+               Arrays.sort(before, 0, i);
+               haveBefore = true;
+            }
+            int from = lo;
+            while (from < hi) {
+               int to = from + 1;
+               while (to < hi && slope[to] == slope[from]) {
+                  to++;
+               }
+               // no earlier point on the line: the anchor is its first
+               if (to - from >= 3
+                     && Arrays.binarySearch(before, 0, i, slope[from]) < 0) {
+                  long[] coords = new long[to - from + 1];
+                  coords[0] = CompactLine.pack(x, y);
+                  for (int k = from; k < to; k++) {
+                     coords[k - from + 1] =
+                        CompactLine.pack(xs[index[k]], ys[index[k]]);
+                  }
+                  // the anchor is least; the rest come in slope order
+                  Arrays.sort(coords, 1, coords.length);
+                  out.add(new CompactLine(coords));
+               }
+               from = to;
+            }
+         }
+         lo = hi;
+      }
+   }
+   
+   /**
+    * Returns a sorted set of Lines with the points of the given lines.
+    *
+    * @param found line segments
+    * @return the same line segments as Lines
+    */
+   private static SortedSet<Line> toLines(SortedSet<CompactLine> found) {
+      SortedSet<Line> result = new TreeSet<Line>();
+      for (CompactLine line : found) {
+         result.add(line.toLine());
+      }
+      return result;
+   }
+   
+   /**
+    * Returns a long that sorts as the double d does, so that slopes can be
+    * sorted by sortByKey. Equal doubles give equal longs.
+    *
+    * @param d a slope, not NaN
+    * @return the order-preserving key of d
+    */
+   private static long order(double d) {
+      long bits = Double.doubleToLongBits(d);
+      return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+   }
+   
+   /**
+    * Returns the points in ascending natural order with duplicates
+    * removed, as coordinates.
+    *
+    * @return distinct points in order
+    */
+   private PointStore distinctSorted() {
+      if (store == null) {
+         store = new PointStore(Arrays.asList(points));
+      }
+      return store.distinct();
+   }
+   
+   /**
+    * Creates the Points of an extractor built from a PointStore, for the
+    * searches that work on Points.
+    *
+    */
+   private void ensurePoints() {
+      if (points == null) {
+         points = store.toArray();
+      }
+   }
+   
+   /**
+    * Sorts slope[lo..hi] in ascending order, applying the same moves to
+    * index[lo..hi]. Uses quicksort with a three-way partition around the
+    * middle element, so runs of equal keys are settled in one pass, and
+    * insertion sort for short ranges.
+    *
+    * @param slope the keys
+    * @param index values carried with the keys
+    * @param lo lower bound, inclusive
+    * @param hi upper bound, inclusive
+    */
+   private static void sortByKey(long[] slope, int[] index, int lo, int hi) {
+      while (hi - lo > INSERTION_SORT) {
+         long pivot = median(slope[lo], slope[(lo + hi) >>> 1], slope[hi]);
+         // [lo..lt-1] < pivot, [lt..gt] == pivot, [gt+1..hi] > pivot
+         int lt = lo;
+         int gt = hi;
+         int i = lo;
+         while (i <= gt) {
+            if (slope[i] < pivot) {
+               swap(slope, index, lt++, i++);
+            }
+            else if (slope[i] > pivot) {
+               swap(slope, index, i, gt--);
+            }
+            else {
+               i++;
+            }
+         }
+         // recurse into the smaller side to bound the stack depth
+         if (lt - lo < hi - gt) {
+            sortByKey(slope, index, lo, lt - 1);
+            lo = gt + 1;
+         }
+         else {
+            sortByKey(slope, index, gt + 1, hi);
+            hi = lt - 1;
+         }
+      }
+      for (int i = lo + 1; i <= hi; i++) {
+         long s = slope[i];
+         int t = index[i];
+         int j = i - 1;
+         while (j >= lo && slope[j] > s) {
+            slope[j + 1] = slope[j];
+            index[j + 1] = index[j];
+            j--;
+         }
+         slope[j + 1] = s;
+         index[j + 1] = t;
+      }
+   }
+   
+   /**
+    * Returns the median of three values.
+    *
+    * @param a first value
+    * @param b second value
+    * @param c third value
+    * @return the median
+    */
+   private static long median(long a, long b, long c) {
+      return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+   }
+   
+   /**
+    * Exchanges entries i and j of both arrays.
+    *
+    * @param slope the keys
+    * @param index values carried with the keys
+    * @param i first position
+    * @param j second position
+    */
+   private static void swap(long[] slope, int[] index, int i, int j) {
+      long s = slope[i];
+      slope[i] = slope[j];
+      slope[j] = s;
+      int t = index[i];
+      index[i] = index[j];
+      index[j] = t;
+   }
+   
 }
@@ -2,6 +2,8 @@ import org.junit.Assert;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.File;
+import java.io.PrintWriter;
 import java.util.Arrays;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -400,4 +402,193 @@ public class ExtractorTest {
    
       Assert.assertEquals(1, fastLines.size());
    }
-}
\ No newline at end of file
+   
+/*************************************************************************/
+/****************************getLinesFaster Tests*************************/
+/*************************************************************************/
+   // 2 lines no garbage
+   @Test public void fasterTest() {
+      Point[] p = new Point[] {
+         // 
+         new Point(0, 1), 
+         new Point(1, 2),
+         new Point(2, 3),
+         new Point(3, 4),
+         //
+         new Point(0, 0), 
+         new Point(1, 1),
+         new Point(2, 2),
+         new Point(3, 3),
+         };
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<Line> fasterLines = test.getLinesFaster();
+   
+      Assert.assertEquals(2, fasterLines.size());
+   }
+   
+   // 1 5-point line reported once, with its middle point first in input
+   @Test public void fasterTest2() {
+      Point[] p = new Point[] {
+         //
+         new Point(2, 2),
+         new Point(0, 1),
+         new Point(6, 6),
+         new Point(3, 3),
+         new Point(1, 0),
+         new Point(4, 4), 
+         new Point(0, 0), 
+         new Point(2, 0),
+         };
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<Line> fasterLines = test.getLinesFaster();
+      
+      Line testL = new Line(Arrays.asList(p[6], p[0], p[3], p[5], p[2]));
+   
+      Assert.assertEquals(1, fasterLines.size());
+      Assert.assertEquals(testL, fasterLines.first());
+      Assert.assertEquals(5, fasterLines.first().length());
+   }
+   
+/****************************getLinesParallel Tests***********************/
+/*************************************************************************/
+   // every line of a 6x6 grid, same as getLinesFaster
+   @Test public void parallelTest() {
+      Point[] p = new Point[36];
+      for (int i = 0; i < p.length; i++) {
+         p[i] = new Point(i % 6, i / 6);
+      }
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<Line> parallelLines = test.getLinesParallel();
+      SortedSet<Line> fasterLines = test.getLinesFaster();
+   
+      Assert.assertEquals(fasterLines.size(), parallelLines.size());
+      Assert.assertEquals(fasterLines.toString(), parallelLines.toString());
+   }
+   
+/****************************getLinesHough Tests**************************/
+/*************************************************************************/
+   // 2 lines with garbage
+   @Test public void houghTest() {
+      Point[] p = new Point[] {
+         // 
+         new Point(0, 1), 
+         new Point(1, 2),
+         new Point(2, 3),
+         new Point(3, 4),
+         //
+         new Point(0, 0), 
+         new Point(1, 1),
+         new Point(2, 2),
+         new Point(3, 3),
+         //
+         new Point(5, 1),
+         new Point(7, 2),
+         };
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<Line> houghLines = test.getLinesHough(180, 64, 4);
+   
+      Assert.assertEquals(test.getLinesFaster(), houghLines);
+   }
+   
+   // 1 line and a far point of slope (2^30 + 1) / 2^30 from (0, 0); its
+   // double slopes from (0, 0) and (3, 3) are equal, its exact ones not
+   @Test public void houghTest2() {
+      Point far = new Point(1 << 30, (1 << 30) + 1);
+      Point[] p = new Point[] {
+         // 
+         new Point(0, 0), 
+         new Point(1, 1),
+         new Point(2, 2),
+         new Point(3, 3),
+         //
+         far,
+         };
+      Assert.assertEquals(p[0].slopeTo(far), p[3].slopeTo(far), 0.0);
+      Assert.assertNotEquals(p[0].slopeKey(far), p[3].slopeKey(far));
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<Line> houghLines = test.getLinesHough(180, 64, 4);
+   
+      Assert.assertEquals(1, houghLines.size());
+      Assert.assertEquals(4, houghLines.first().length());
+      Assert.assertEquals(test.getLinesFaster().toString(),
+                          houghLines.toString());
+   }
+   
+/****************************getCompactLines Tests************************/
+/*************************************************************************/
+   // 1 8-point collinear line, same as a Line
+   @Test public void compactTest() {
+      Point[] p = new Point[] {
+         //
+         new Point(7, 7),
+         new Point(1, 1),
+         new Point(5, 5),
+         new Point(3, 3),
+         new Point(4, 4), 
+         new Point(2, 2),
+         new Point(6, 6),
+         new Point(0, 0), 
+         };
+      Extractor test = new Extractor(Arrays.asList(p));
+      SortedSet<CompactLine> compactLines = test.getCompactLines();
+      
+      Line testL = new Line(Arrays.asList(p));
+   
+      Assert.assertEquals(1, compactLines.size());
+      Assert.assertEquals(testL.toString(), compactLines.first().toString());
+      Assert.assertEquals(testL, compactLines.first().toLine());
+      Assert.assertEquals(new CompactLine(testL), compactLines.first());
+   }
+   
+/****************************PointStore Tests*****************************/
+/*************************************************************************/
+   // 2 lines from coordinates, with a duplicate point
+   @Test public void storeTest() {
+      PointStore store = new PointStore(0);
+      for (int i = 0; i < 4; i++) {
+         store.add(i, i + 1);
+         store.add(i, i);
+      }
+      store.add(2, 2);
+      Extractor test = new Extractor(store);
+      SortedSet<Line> fasterLines = test.getLinesFaster();
+   
+      Assert.assertEquals(9, store.size());
+      Assert.assertEquals(2, fasterLines.size());
+      Assert.assertEquals(fasterLines, test.getLinesFast());
+   }
+   
+/****************************File Tests**********************************/
+/*************************************************************************/
+   // 2 lines read from a text file and from the same points in binary
+   @Test public void fileTest() throws Exception {
+      File text = File.createTempFile("points", ".txt");
+      File binary = File.createTempFile("points", ".bin");
+      text.deleteOnExit();
+      binary.deleteOnExit();
+      try (PrintWriter out = new PrintWriter(text)) {
+         out.println(8);
+         for (int i = 0; i < 4; i++) {
+            out.println(i + " " + (i + 1));
+            out.println(i + " " + i);
+         }
+      }
+      Extractor test = new Extractor(text.getPath());
+      PointFile.write(PointFile.read(text.getPath()), binary.getPath());
+      Extractor test2 = new Extractor(binary.getPath());
+   
+      Assert.assertEquals(2, test.getLinesFast().size());
+      Assert.assertEquals(test.getLinesFast(), test2.getLinesFaster());
+   }
+   
+   // malformed file
+   @Test(expected = IllegalArgumentException.class)
+   public void fileTest2() throws Exception {
+      File text = File.createTempFile("points", ".txt");
+      text.deleteOnExit();
+      try (PrintWriter out = new PrintWriter(text)) {
+         out.println("3 1 2 3 4");
+      }
+      new Extractor(text.getPath());
+   }
+}
@@ -0,0 +1,199 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * HoughDetector.java.
+ * Finds collinear points with a Hough transform. Each point votes, for
+ * every one of a fixed set of angles theta, for the distance rho from the
+ * origin of the line through it normal to theta; points on one line vote
+ * for the same (theta, rho) cell. Cells that collect enough votes and more
+ * than their neighbors are candidates; of neighbors with equal votes only
+ * the first in (theta, rho) order is, so a plateau is verified once. The
+ * points near a candidate line are searched exactly for collinear runs,
+ * and every run found is grown over all the points by exact slope key, so
+ * each reported line is a maximal line segment of at least four points,
+ * exactly as getLinesFaster would report it.
+ *
+ * Voting costs O(n * thetas), so for large inputs this is much cheaper
+ * than the slope sorts. The result is approximate in one direction only:
+ * a line whose votes are spread over several cells, or drowned by noise,
+ * may be missed, but no reported line is wrong. minVotes should be set
+ * above the votes that noise alone puts in a cell, since every candidate
+ * cell costs a pass over the points and an exact search of its neighbors.
+ *
+ * @author  Anastasia Kotova (azk0108@auburn.edu)
+ * @version 09/30/2019
+ *
+ */
+public final class HoughDetector {
+
+   /** number of angles and of distances in the accumulator. */
+   private final int thetas;
+   private final int rhos;
+
+   /** votes a cell needs to be a candidate. */
+   private final int minVotes;
+
+   /** cosine and sine of each angle. */
+   private final double[] cos;
+   private final double[] sin;
+
+   /**
+    * Creates a detector whose accumulator has thetas angles spread over
+    * [0, pi) and rhos distances spread over the range the points need.
+    *
+    * @param thetas number of angles
+    * @param rhos number of distances
+    * @param minVotes votes a cell needs to be a candidate, at least 4
+    * @throws IllegalArgumentException if thetas or rhos is less than 1 or
+    *         minVotes is less than 4
+    */
+   public HoughDetector(int thetas, int rhos, int minVotes) {
+      if (thetas < 1 || rhos < 1 || minVotes < 4) {
+         throw new IllegalArgumentException();
+      }
+      this.thetas = thetas;
+      this.rhos = rhos;
+      this.minVotes = minVotes;
+      cos = new double[thetas];
+      sin = new double[thetas];
+      for (int t = 0; t < thetas; t++) {
+         double theta = Math.PI * t / thetas;
+         cos[t] = Math.cos(theta);
+         sin[t] = Math.sin(theta);
+      }
+   }
+
+   /**
+    * Returns the maximal line segments of at least four points found in
+    * points. Returns an empty set if none are found.
+    *
+    * @param points the points to search
+    * @return line segments
+    */
+   public SortedSet<Line> detect(Point[] points) {
+      SortedSet<Line> lines = new TreeSet<Line>();
+      if (points.length < 4) {
+         return lines;
+      }
+
+      // every |rho| is at most the largest distance from the origin
+      double reach = 1;
+      for (Point p : points) {
+         reach = Math.max(reach, Math.hypot(p.getX(), p.getY()));
+      }
+      double scale = rhos / (2 * reach);
+
+      int[] votes = new int[thetas * rhos];
+      for (Point p : points) {
+         for (int t = 0; t < thetas; t++) {
+            votes[t * rhos + cell(p, t, reach, scale)]++;
+         }
+      }
+
+      for (int t = 0; t < thetas; t++) {
+         for (int r = 0; r < rhos; r++) {
+            if (votes[t * rhos + r] >= minVotes && isPeak(votes, t, r)) {
+               verify(points, t, r, reach, scale, lines);
+            }
+         }
+      }
+      return lines;
+   }
+
+   /**
+    * Returns the distance cell that p votes for at angle t.
+    *
+    * @param p a point
+    * @param t angle
+    * @param reach largest distance of a point from the origin
+    * @param scale cells per unit of distance
+    * @return the cell, in [0, rhos)
+    */
+   private int cell(Point p, int t, double reach, double scale) {
+      double rho = p.getX() * cos[t] + p.getY() * sin[t];
+      return Math.min(rhos - 1, (int) ((rho + reach) * scale));
+   }
+
+   /**
+    * Returns true if no neighbor of cell (t, r) has more votes, and no
+    * neighbor that comes before it in the accumulator has as many.
+    *
+    * @param votes the accumulator
+    * @param t angle
+    * @param r distance
+    * @return true if (t, r) is a local maximum
+    */
+   private boolean isPeak(int[] votes, int t, int r) {
+      int at = t * rhos + r;
+      for (int dt = -1; dt <= 1; dt++) {
+         for (int dr = -1; dr <= 1; dr++) {
+            int nt = t + dt;
+            int nr = r + dr;
+            if (nt < 0 || nt >= thetas || nr < 0 || nr >= rhos) {
+               continue;
+            }
+            int n = nt * rhos + nr;
+            if (votes[n] > votes[at] || (votes[n] == votes[at] && n < at)) {
+               return false;
+            }
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Adds to lines every maximal line segment through at least four of the
+    * points that vote for cell (t, r) or the distances next to it.
+    *
+    * @param points all the points
+    * @param t angle of the candidate
+    * @param r distance of the candidate
+    * @param reach largest distance of a point from the origin
+    * @param scale cells per unit of distance
+    * @param lines receives the line segments
+    */
+   private void verify(Point[] points, int t, int r, double reach,
+                       double scale, SortedSet<Line> lines) {
+      List<Point> near = new ArrayList<Point>();
+      for (Point p : points) {
+         if (Math.abs(cell(p, t, reach, scale) - r) <= 1) {
+            near.add(p);
+         }
+      }
+      if (near.size() < 4) {
+         return;
+      }
+      for (Line line : new Extractor(near).getLinesFaster()) {
+         if (!lines.contains(line)) {
+            lines.add(grow(points, line.first(), line.last()));
+         }
+      }
+   }
+
+   /**
+    * Returns the line through every one of points that is collinear with
+    * first and last. Membership is decided by exact slope keys, so no
+    * point is added because of rounding.
+    *
+    * @param points all the points
+    * @param first a point of the line
+    * @param last another point of the line
+    * @return the maximal line segment
+    */
+   private static Line grow(Point[] points, Point first, Point last) {
+      long key = first.slopeKey(last);
+      List<Point> on = new ArrayList<Point>();
+      for (Point p : points) {
+         long k = first.slopeKey(p);
+         if (k == key || k == Point.DEGENERATE) {
+            on.add(p);
+         }
+      }
+      // the points are exactly collinear, so Line.add accepts each
+      return new Line(on);
+   }
+
+}
@@ -17,6 +17,9 @@ public final class Point implements Comparable<Point> {
       with this point. */
    public final Comparator<Point> slopeOrder = new ComparePointsBySlope();
 
+   /** Slope key of a degenerate line segment; see slopeKey. */
+   public static final long DEGENERATE = Long.MIN_VALUE;
+
    /** x,y coordinates of this point. */
    private final int x;
    private final int y;
@@ -36,6 +39,24 @@ public final class Point implements Comparable<Point> {
       this.y = y;
    }
 
+   /**
+    * Returns the x-coordinate of this point.
+    *
+    * @return x-coordinate
+    */
+   public int getX() {
+      return x;
+   }
+
+   /**
+    * Returns the y-coordinate of this point.
+    *
+    * @return y-coordinate
+    */
+   public int getY() {
+      return y;
+   }
+
    /** 
     * Return a string representation of this point.
     * 
@@ -107,17 +128,150 @@ public final class Point implements Comparable<Point> {
     * @return slope value
     */
    public double slopeTo(Point that) {
-      if (equals(that)) {
+      return slope(this.x, this.y, that.x, that.y);
+   }
+
+   /**
+    * Computes the slope from (x0, y0) to (x1, y1) as slopeTo does, for
+    * callers that keep coordinates rather than Points.
+    *
+    * @param x0 x-coordinate of the first point
+    * @param y0 y-coordinate of the first point
+    * @param x1 x-coordinate of the second point
+    * @param y1 y-coordinate of the second point
+    * @return slope value
+    */
+   static double slope(int x0, int y0, int x1, int y1) {
+      if (x1 == x0 && y1 == y0) {
          return Double.NEGATIVE_INFINITY;
       }
-      else if (that.y == this.y) {
-         return ((double)that.y - (double)this.y);
+      else if (y1 == y0) {
+         return ((double)y1 - (double)y0);
       }
-      else if (that.x == this.x) {
+      else if (x1 == x0) {
          return Double.POSITIVE_INFINITY;
       }
-      return ((double)that.y - (double)this.y) 
-                        / ((double)that.x - (double)this.x);
+      return ((double)y1 - (double)y0) 
+                        / ((double)x1 - (double)x0);
+   }
+
+   
+   /**
+    * Returns an exact key for the slope of the line segment between this
+    * point and the specified point. The slope dy / dx is reduced to lowest
+    * terms with dx >= 0 and packed as dy in the high 32 bits and dx in the
+    * low 32 bits, so two segments have the same slope if and only if their
+    * keys are equal, and no rounding is involved. A horizontal segment has
+    * key (0, 1), a vertical one (1, 0), and a degenerate one (where the
+    * two points are the same) has key DEGENERATE. Like slopeTo, the key
+    * does not depend on the direction of the segment.
+    *
+    * @param that Point object
+    * @return slope key
+    */
+   public long slopeKey(Point that) {
+      return slopeKey(this.x, this.y, that.x, that.y);
+   }
+
+   /**
+    * Returns the slope key from (x0, y0) to (x1, y1) as slopeKey does, for
+    * callers that keep coordinates rather than Points.
+    *
+    * @param x0 x-coordinate of the first point
+    * @param y0 y-coordinate of the first point
+    * @param x1 x-coordinate of the second point
+    * @param y1 y-coordinate of the second point
+    * @return slope key
+    */
+   static long slopeKey(int x0, int y0, int x1, int y1) {
+      int dx = x1 - x0;
+      int dy = y1 - y0;
+      if (dx == 0 && dy == 0) {
+         return DEGENERATE;
+      }
+      else if (dy == 0) {
+         dx = 1;
+      }
+      else if (dx == 0) {
+         dy = 1;
+      }
+      else {
+         if (dx < 0) {
+            dx = -dx;
+            dy = -dy;
+         }
+         int g = gcd(dx, Math.abs(dy));
+         dx /= g;
+         dy /= g;
+      }
+      return ((long) dy << 32) | dx;
+   }
+   
+   /**
+    * Compares two slope keys by the slopes they stand for, in the order of
+    * slopeTo: DEGENERATE first, then ascending slope, with vertical last.
+    * The comparison cross-multiplies, which is exact for all keys.
+    *
+    * @param a first slope key
+    * @param b second slope key
+    * @return negative, zero, or positive as a is less than, equal to, or
+    *         greater than b
+    */
+   public static int compareSlopeKeys(long a, long b) {
+      if (a == b) {
+         return 0;
+      }
+      else if (a == DEGENERATE) {
+         return -1;
+      }
+      else if (b == DEGENERATE) {
+         return 1;
+      }
+      // dy1 / dx1 vs dy2 / dx2 with dx >= 0; a vertical (1, 0) comes last
+      long left = (a >> 32) * (b & 0xFFFFFFFFL);
+      long right = (b >> 32) * (a & 0xFFFFFFFFL);
+      return Long.compare(left, right);
+   }
+   
+   /**
+    * Returns a comparator that orders points by the slope each makes with
+    * this point, as slopeOrder does, but compares exact slope keys instead
+    * of boxed doubles. Points whose slopes differ by less than a double can
+    * resolve are still told apart.
+    *
+    * @return exact slope comparator
+    */
+   public Comparator<Point> exactSlopeOrder() {
+      return 
+         new Comparator<Point>() {
+            @Override
+            public int compare(Point p1, Point p2) {
+               return compareSlopeKeys(slopeKey(p1), slopeKey(p2));
+            }
+         };
+   }
+   
+   /**
+    * Returns the greatest common divisor of two positive ints. Uses the
+    * binary algorithm, which needs only shifts and subtractions.
+    *
+    * @param a positive int
+    * @param b positive int
+    * @return gcd of a and b
+    */
+   private static int gcd(int a, int b) {
+      int shift = Integer.numberOfTrailingZeros(a | b);
+      a >>= Integer.numberOfTrailingZeros(a);
+      while (b != 0) {
+         b >>= Integer.numberOfTrailingZeros(b);
+         if (a > b) {
+            int t = a;
+            a = b;
+            b = t;
+         }
+         b -= a;
+      }
+      return a << shift;
    }
       
    /**
@@ -0,0 +1,285 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PointFile.java
+ * Reads and writes point files. The text format is the one Extractor has
+ * always read: the number of points, then that many pairs of coordinates,
+ * all separated by white space. It is read in large blocks and parsed
+ * byte by byte, with no Scanner and no regular expressions.
+ *
+ * The binary format is the four bytes "PTS1", the number of points, and
+ * then the x and y of each point, all as big-endian ints; it is memory
+ * mapped when read. read tells the formats apart by the first four bytes.
+ *
+ * Malformed files are reported with an IllegalArgumentException that says
+ * what was wrong and where.
+ *
+ * @author  Anastasia Kotova (azk0108@auburn.edu)
+ * @version 09/30/2019
+ *
+ */
+public final class PointFile {
+
+   /** first bytes of a binary point file. */
+   private static final byte[] MAGIC = {'P', 'T', 'S', '1'};
+
+   /** bytes read from a text file at a time. */
+   private static final int BLOCK = 1 << 16;
+
+   /** fewest bytes a point can take in a text file, as in "0 0 ". */
+   private static final int MIN_TEXT_POINT = 4;
+
+   /**
+    * Can't instantiate this class.
+    *
+    */
+   private PointFile() { }
+
+   /**
+    * Reads the points in the named file, in either format.
+    *
+    * @param filename name of the file
+    * @return the points, in file order
+    * @throws IOException if the file cannot be read
+    * @throws IllegalArgumentException if the file is malformed
+    */
+   public static PointStore read(String filename) throws IOException {
+      try (FileChannel in = FileChannel.open(Paths.get(filename),
+                                             StandardOpenOption.READ)) {
+         ByteBuffer head = ByteBuffer.allocate(MAGIC.length);
+         int n = 0;
+         while (head.hasRemaining() && n >= 0) {
+            n = in.read(head);
+         }
+         head.flip();
+         in.position(0);
+         if (head.equals(ByteBuffer.wrap(MAGIC))) {
+            return readBinary(in);
+         }
+         return readText(in);
+      }
+   }
+
+   /**
+    * Writes store to the named file in the binary format.
+    *
+    * @param store the points
+    * @param filename name of the file
+    * @throws IOException if the file cannot be written
+    */
+   public static void write(PointStore store, String filename)
+         throws IOException {
+      try (DataOutputStream out = new DataOutputStream(
+              new BufferedOutputStream(new FileOutputStream(filename),
+                                       BLOCK))) {
+         out.write(MAGIC);
+         out.writeInt(store.size());
+         for (int i = 0; i < store.size(); i++) {
+            out.writeInt(store.x(i));
+            out.writeInt(store.y(i));
+         }
+      }
+   }
+
+   /**
+    * Reads a binary point file by mapping it into memory.
+    *
+    * @param in the open file, positioned at its start
+    * @return the points
+    * @throws IOException if the file cannot be read
+    */
+   private static PointStore readBinary(FileChannel in) throws IOException {
+      long size = in.size();
+      if (size > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException("binary file too large: "
+                                            + size + " bytes");
+      }
+      MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      buf.position(MAGIC.length);
+      if (buf.remaining() < 4) {
+         throw new IllegalArgumentException("binary file has no count");
+      }
+      int count = buf.getInt();
+      if (count < 0 || (long) count * 8 != buf.remaining()) {
+         throw new IllegalArgumentException("binary file of " + size
+            + " bytes cannot hold " + count + " points");
+      }
+      PointStore store = new PointStore(count);
+      for (int i = 0; i < count; i++) {
+         int x = buf.getInt();
+         int y = buf.getInt();
+         if (x < 0 || y < 0) {
+            throw new IllegalArgumentException("point " + i
+               + " has a negative coordinate");
+         }
+         store.add(x, y);
+      }
+      return store;
+   }
+
+   /**
+    * Reads a text point file in blocks.
+    *
+    * @param in the open file, positioned at its start
+    * @return the points
+    * @throws IOException if the file cannot be read
+    */
+   private static PointStore readText(FileChannel in) throws IOException {
+      Tokens tokens = new Tokens(in);
+      long count = tokens.next();
+      if (count < 0) {
+         throw new IllegalArgumentException("file is empty");
+      }
+      // a bad count must not make us allocate more than the file can hold
+      long most = in.size() / MIN_TEXT_POINT + 1;
+      PointStore store = new PointStore((int) Math.min(count, most));
+      for (long i = 0; i < count; i++) {
+         long x = tokens.next();
+         long y = x < 0 ? -1 : tokens.next();
+         if (y < 0) {
+            throw new IllegalArgumentException("expected " + count
+               + " points, found " + i);
+         }
+         store.add((int) x, (int) y);
+      }
+      if (tokens.next() >= 0) {
+         throw new IllegalArgumentException("more than " + count
+            + " points, at byte " + tokens.offset());
+      }
+      return store;
+   }
+
+
+   /**
+    * Splits a text file into non-negative ints.
+    *
+    */
+   private static final class Tokens {
+
+      /** the file. */
+      private final FileChannel in;
+
+      /** the current block: bytes [pos..limit) are unread. */
+      private final byte[] block = new byte[BLOCK];
+      private int pos;
+      private int limit;
+
+      /** file offset of block[0]. */
+      private long base;
+
+      /**
+       * Reads from in.
+       *
+       * @param in the open file
+       */
+      Tokens(FileChannel in) {
+         this.in = in;
+      }
+
+      /**
+       * Returns the file offset of the next unread byte.
+       *
+       * @return offset in bytes
+       */
+      long offset() {
+         return base + pos;
+      }
+
+      /**
+       * Returns the next int in the file, or -1 at the end of the file.
+       *
+       * @return the int, or -1
+       * @throws IOException if the file cannot be read
+       * @throws IllegalArgumentException if the next token is not a
+       *         non-negative int
+       */
+      long next() throws IOException {
+         int b = skipSpace();
+         if (b < 0) {
+            return -1;
+         }
+         long start = offset();
+         if (b < '0' || b > '9') {
+            throw new IllegalArgumentException((b == '-'
+               ? "negative number" : "unexpected character '" + (char) b
+               + "'") + " at byte " + start);
+         }
+         long value = 0;
+         do {
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) {
+               throw new IllegalArgumentException("number too large at byte "
+                                                  + start);
+            }
+            pos++;
+            b = peek();
+         } while (b >= '0' && b <= '9');
+         if (b >= 0 && !isSpace(b)) {
+            throw new IllegalArgumentException("unexpected character '"
+               + (char) b + "' at byte " + offset());
+         }
+         return value;
+      }
+
+      /**
+       * Skips white space and returns the next byte without consuming it,
+       * or -1 at the end of the file.
+       *
+       * @return the byte, or -1
+       * @throws IOException if the file cannot be read
+       */
+      private int skipSpace() throws IOException {
+         int b = peek();
+         while (b >= 0 && isSpace(b)) {
+            pos++;
+            b = peek();
+         }
+         return b;
+      }
+
+      /**
+       * Returns the next byte without consuming it, reading the next block
+       * if needed, or -1 at the end of the file.
+       *
+       * @return the byte, or -1
+       * @throws IOException if the file cannot be read
+       */
+      private int peek() throws IOException {
+         if (pos == limit) {
+            base += limit;
+            pos = 0;
+            limit = 0;
+            ByteBuffer buf = ByteBuffer.wrap(block);
+            int n;
+            do {
+               n = in.read(buf);
+            } while (n == 0);
+            if (n < 0) {
+               return -1;
+            }
+            limit = n;
+         }
+         return block[pos] & 0xFF;
+      }
+
+      /**
+       * Returns true if b is white space.
+       *
+       * @param b a byte
+       * @return true if b is a space, tab, or line break
+       */
+      private static boolean isSpace(int b) {
+         return b == ' ' || b == '\n' || b == '\r' || b == '\t'
+            || b == '\f';
+      }
+   }
+
+}
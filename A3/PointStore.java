@@ -0,0 +1,188 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * PointStore.java
+ * Holds two dimensional points as two parallel int arrays of x and y
+ * coordinates instead of as Point objects. A stored point costs eight
+ * bytes, where a Point costs a header, its coordinates, a reference to it
+ * and its own slope comparator. Points are created only when asked for.
+ * Like Point, a store accepts only coordinates that are not negative.
+ *
+ * @author  Anastasia Kotova (azk0108@auburn.edu)
+ * @version 09/30/2019
+ *
+ */
+public final class PointStore {
+
+   /** coordinates of point i are (xs[i], ys[i]), for i below size. */
+   private int[] xs;
+   private int[] ys;
+   private int size;
+
+   /**
+    * Creates an empty store with room for capacity points.
+    *
+    * @param capacity initial capacity
+    * @throws IllegalArgumentException if capacity is negative
+    */
+   public PointStore(int capacity) {
+      if (capacity < 0) {
+         throw new IllegalArgumentException();
+      }
+      xs = new int[capacity];
+      ys = new int[capacity];
+   }
+
+   /**
+    * Creates a store holding the points in pcoll, in iteration order.
+    *
+    * @param pcoll Collection of points
+    */
+   public PointStore(Collection<Point> pcoll) {
+      this(pcoll.size());
+      for (Point p : pcoll) {
+         add(p.getX(), p.getY());
+      }
+   }
+
+   /**
+    * Adds the point (x, y), growing the store if it is full.
+    *
+    * @param x x-coordinate
+    * @param y y-coordinate
+    * @throws IllegalArgumentException if x or y is negative
+    */
+   public void add(int x, int y) {
+      if (x < 0 || y < 0) {
+         throw new IllegalArgumentException();
+      }
+      if (size == xs.length) {
+         int capacity = Math.max(16, size + (size >> 1));
+         xs = Arrays.copyOf(xs, capacity);
+         ys = Arrays.copyOf(ys, capacity);
+      }
+      xs[size] = x;
+      ys[size] = y;
+      size++;
+   }
+
+   /**
+    * Returns the number of points in this store.
+    *
+    * @return number of points
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the x-coordinate of point i.
+    *
+    * @param i position of the point
+    * @return x-coordinate
+    * @throws IllegalArgumentException if i is out of range
+    */
+   public int x(int i) {
+      check(i);
+      return xs[i];
+   }
+
+   /**
+    * Returns the y-coordinate of point i.
+    *
+    * @param i position of the point
+    * @return y-coordinate
+    * @throws IllegalArgumentException if i is out of range
+    */
+   public int y(int i) {
+      check(i);
+      return ys[i];
+   }
+
+   /**
+    * Returns point i as a new Point.
+    *
+    * @param i position of the point
+    * @return Point object
+    * @throws IllegalArgumentException if i is out of range
+    */
+   public Point get(int i) {
+      check(i);
+      return new Point(xs[i], ys[i]);
+   }
+
+   /**
+    * Returns the points of this store as new Points, in order.
+    *
+    * @return array of Points
+    */
+   public Point[] toArray() {
+      Point[] points = new Point[size];
+      for (int i = 0; i < size; i++) {
+         points[i] = new Point(xs[i], ys[i]);
+      }
+      return points;
+   }
+
+   /**
+    * Returns a new store holding the points of this one in ascending
+    * natural order with duplicates removed. Its arrays are exactly full.
+    *
+    * @return distinct points in order
+    */
+   PointStore distinct() {
+      long[] packed = new long[size];
+      for (int i = 0; i < size; i++) {
+         packed[i] = CompactLine.pack(xs[i], ys[i]);
+      }
+      // packed points sort in natural order
+      Arrays.sort(packed);
+      int n = 0;
+      for (int i = 0; i < packed.length; i++) {
+         if (n == 0 || packed[i] != packed[n - 1]) {
+            packed[n++] = packed[i];
+         }
+      }
+      PointStore result = new PointStore(n);
+      for (int i = 0; i < n; i++) {
+         result.xs[i] = (int) packed[i];
+         result.ys[i] = (int) (packed[i] >>> 32);
+      }
+      result.size = n;
+      return result;
+   }
+
+   /**
+    * Returns the x-coordinate array itself, not a copy. Only the first
+    * size() entries are points.
+    *
+    * @return x-coordinates
+    */
+   int[] xs() {
+      return xs;
+   }
+
+   /**
+    * Returns the y-coordinate array itself, not a copy. Only the first
+    * size() entries are points.
+    *
+    * @return y-coordinates
+    */
+   int[] ys() {
+      return ys;
+   }
+
+   /**
+    * Throws an IllegalArgumentException if i is not the position of a
+    * point.
+    *
+    * @param i position to check
+    */
+   private void check(int i) {
+      if (i < 0 || i >= size) {
+         throw new IllegalArgumentException("no point " + i);
+      }
+   }
+
+}
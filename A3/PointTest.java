@@ -41,4 +41,19 @@ public class PointTest {
       Point p = new Point(3, 3); 
       Assert.assertTrue(p.slopeOrder.compare(new Point(5, 2), new Point(1, 1)) < 0);
    }
+   
+   /** slopeKey Test 1 (equal slopes, unreduced). **/
+   @Test public void slopeKey_Test_01() {
+      Point p = new Point(2, 6);
+      Assert.assertEquals(p.slopeKey(new Point(3, 9)),
+         p.slopeKey(new Point(0, 0)));
+   }
+   
+   /** compareSlopeKeys Test 1. **/
+   @Test public void compareSlopeKeys_Test_01() {
+      Point p = new Point(0, 0);
+      long a = p.slopeKey(new Point(32767, 32766));
+      long b = p.slopeKey(new Point(32766, 32765));
+      Assert.assertTrue(Point.compareSlopeKeys(a, b) > 0);
+   }
 }
@@ -0,0 +1,72 @@
+package a1;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Data.java.
+ * The array every A1 benchmark runs on, with a SortedIntIndex over it and
+ * query keys taken from its values. The array has size values drawn from
+ * dist: uniform over all ints, the same values sorted, or uniform over FEW
+ * values. It is built once per trial, outside the measurement.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+@State(Scope.Benchmark)
+public class Data {
+
+   /** Number of distinct values in the "few" distribution. */
+   static final int FEW = 16;
+
+   /** Array size. Sizes of 1e8 need the heap the forks are given. */
+   @Param({"1000", "100000", "10000000", "100000000"})
+   public int size;
+
+   /** Value distribution. */
+   @Param({"uniform", "sorted", "few"})
+   public String dist;
+
+   /** the values, and an index over them. */
+   int[] a;
+   SortedIntIndex index;
+
+   /** number of distinct values. */
+   int distinct;
+
+   /** ceiling and floor key: the median distinct value. */
+   int key;
+
+   /** range bounds: the lower and upper quartile distinct values. */
+   int low;
+   int high;
+
+   /**
+    * Builds the array, the index and the keys.
+    *
+    */
+   @Setup(Level.Trial)
+   public void build() {
+      Random rnd = new Random(size);
+      a = new int[size];
+      for (int i = 0; i < size; i++) {
+         a[i] = dist.equals("few") ? rnd.nextInt(FEW) : rnd.nextInt();
+      }
+      if (dist.equals("sorted")) {
+         Arrays.sort(a);
+      }
+      index = new SortedIntIndex(a);
+      distinct = index.distinct();
+      key = index.kmin((distinct + 1) / 2);
+      low = index.kmin(Math.max(1, distinct / 4));
+      high = index.kmax(Math.max(1, distinct / 4));
+   }
+
+}
@@ -0,0 +1,126 @@
+package a1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KthBenchmark.java.
+ * Throughput of A1 kmin and kmax in their sequential, parallel and
+ * indexed variants, with k at 1, at the median and at n, the number of
+ * distinct values (k counts distinct values, so that is the largest valid
+ * k). Every method is its own benchmark, run in its own forked JVM. Run
+ * with -prof gc for the allocation rate.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class KthBenchmark {
+
+   /**
+    * The data and the k to select.
+    *
+    */
+   public static class KData extends Data {
+
+      /** where k falls: "1", "mid" or "n". */
+      @Param({"1", "mid", "n"})
+      public String k;
+
+      /** the k-selection value. */
+      int kth;
+
+      /**
+       * Turns k into a k-selection value.
+       *
+       */
+      @Setup(Level.Trial)
+      public void pick() {
+         kth = k.equals("1") ? 1
+            : k.equals("mid") ? (distinct + 1) / 2
+            : distinct;
+      }
+   }
+
+   /**
+    * Sequential kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public int kminSequential(KData d) {
+      return Selector.kmin(d.a, d.kth);
+   }
+
+   /**
+    * Parallel kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public int kminParallel(KData d) {
+      return Selector.parallelKmin(d.a, d.kth);
+   }
+
+   /**
+    * Indexed kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public int kminIndexed(KData d) {
+      return d.index.kmin(d.kth);
+   }
+
+   /**
+    * Sequential kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public int kmaxSequential(KData d) {
+      return Selector.kmax(d.a, d.kth);
+   }
+
+   /**
+    * Parallel kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public int kmaxParallel(KData d) {
+      return Selector.parallelKmax(d.a, d.kth);
+   }
+
+   /**
+    * Indexed kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public int kmaxIndexed(KData d) {
+      return d.index.kmax(d.kth);
+   }
+
+}
@@ -0,0 +1,208 @@
+package a1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ScanBenchmark.java.
+ * Throughput of the A1 operations that take no k: min, max, range,
+ * ceiling and floor, each in its sequential (Selector), parallel
+ * (Selector.parallel*) and indexed (SortedIntIndex) variant, plus the
+ * cost of building the index. Every method is its own benchmark, run in
+ * its own forked JVM. Run with -prof gc for the allocation rate.
+ *
+ * @author   Anastasia Kotova (azk0108@auburn.edu)
+ * @version  08/23/2019
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ScanBenchmark {
+
+   /**
+    * Builds the index.
+    *
+    * @param d the data
+    * @return the index
+    */
+   @Benchmark
+   public SortedIntIndex buildIndexed(Data d) {
+      return new SortedIntIndex(d.a);
+   }
+
+   /**
+    * Sequential min.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public int minSequential(Data d) {
+      return Selector.min(d.a);
+   }
+
+   /**
+    * Parallel min.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public int minParallel(Data d) {
+      return Selector.parallelMin(d.a);
+   }
+
+   /**
+    * Indexed min.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public int minIndexed(Data d) {
+      return d.index.min();
+   }
+
+   /**
+    * Sequential max.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public int maxSequential(Data d) {
+      return Selector.max(d.a);
+   }
+
+   /**
+    * Parallel max.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public int maxParallel(Data d) {
+      return Selector.parallelMax(d.a);
+   }
+
+   /**
+    * Indexed max.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public int maxIndexed(Data d) {
+      return d.index.max();
+   }
+
+   /**
+    * Sequential range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public int[] rangeSequential(Data d) {
+      return Selector.range(d.a, d.low, d.high);
+   }
+
+   /**
+    * Parallel range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public int[] rangeParallel(Data d) {
+      return Selector.parallelRange(d.a, d.low, d.high);
+   }
+
+   /**
+    * Indexed range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public int[] rangeIndexed(Data d) {
+      return d.index.range(d.low, d.high);
+   }
+
+   /**
+    * Sequential ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public int ceilingSequential(Data d) {
+      return Selector.ceiling(d.a, d.key);
+   }
+
+   /**
+    * Parallel ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public int ceilingParallel(Data d) {
+      return Selector.parallelCeiling(d.a, d.key);
+   }
+
+   /**
+    * Indexed ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public int ceilingIndexed(Data d) {
+      return d.index.ceiling(d.key);
+   }
+
+   /**
+    * Sequential floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public int floorSequential(Data d) {
+      return Selector.floor(d.a, d.key);
+   }
+
+   /**
+    * Parallel floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public int floorParallel(Data d) {
+      return Selector.parallelFloor(d.a, d.key);
+   }
+
+   /**
+    * Indexed floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public int floorIndexed(Data d) {
+      return d.index.floor(d.key);
+   }
+
+}
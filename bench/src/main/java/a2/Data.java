@@ -0,0 +1,92 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Data.java.
+ * The values every A2 benchmark runs on, in the three forms the variants
+ * take: a List of Integer for Selector and its parallel methods, the same
+ * values sorted and flagged with Selector.sorted for the indexed fast
+ * paths, and a long[] for PrimitiveSelector. There are size values drawn
+ * from dist: uniform over all ints, the same values sorted, or uniform
+ * over FEW values. They are built once per trial, outside the
+ * measurement.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+@State(Scope.Benchmark)
+public class Data {
+
+   /** Number of distinct values in the "few" distribution. */
+   static final int FEW = 16;
+
+   /** Number of values. Sizes of 1e8 need the heap the forks are given. */
+   @Param({"1000", "100000", "10000000", "100000000"})
+   public int size;
+
+   /** Value distribution. */
+   @Param({"uniform", "sorted", "few"})
+   public String dist;
+
+   /** the order used by every call; the indexed paths need this object. */
+   final Comparator<Integer> comp = Comparator.naturalOrder();
+
+   /** the values as a List, as a sorted List and as longs. */
+   List<Integer> list;
+   List<Integer> sorted;
+   long[] longs;
+
+   /** number of distinct values. */
+   int distinct;
+
+   /** ceiling and floor key: the median distinct value. */
+   Integer key;
+
+   /** range bounds: the lower and upper quartile distinct values. */
+   Integer low;
+   Integer high;
+
+   /**
+    * Builds the three forms of the values and the keys.
+    *
+    */
+   @Setup(Level.Trial)
+   public void build() {
+      Random rnd = new Random(size);
+      list = new ArrayList<Integer>(size);
+      for (int i = 0; i < size; i++) {
+         list.add(dist.equals("few") ? rnd.nextInt(FEW) : rnd.nextInt());
+      }
+      List<Integer> copy = new ArrayList<Integer>(list);
+      copy.sort(comp);
+      if (dist.equals("sorted")) {
+         list = new ArrayList<Integer>(copy);
+      }
+      sorted = Selector.sorted(copy, comp);
+      longs = new long[size];
+      for (int i = 0; i < size; i++) {
+         longs[i] = list.get(i);
+      }
+      distinct = 0;
+      for (int i = 0; i < size; i++) {
+         if (i == 0 || !copy.get(i).equals(copy.get(i - 1))) {
+            distinct++;
+         }
+      }
+      key = Selector.kmin(sorted, (distinct + 1) / 2, comp);
+      low = Selector.kmin(sorted, Math.max(1, distinct / 4), comp);
+      high = Selector.kmax(sorted, Math.max(1, distinct / 4), comp);
+   }
+
+}
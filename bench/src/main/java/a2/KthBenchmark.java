@@ -0,0 +1,194 @@
+package a2;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KthBenchmark.java.
+ * Throughput of A2 kmin and kmax in their sequential, parallel, indexed
+ * and primitive variants, and of bottomK and topK, which have sequential
+ * and indexed variants only. k is at 1, at the median and at n, the
+ * number of distinct values (k counts distinct values, so that is the
+ * largest valid k). Every method is its own benchmark, run in its own
+ * forked JVM. Run with -prof gc for the allocation rate.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class KthBenchmark {
+
+   /**
+    * The data and the k to select.
+    *
+    */
+   public static class KData extends Data {
+
+      /** where k falls: "1", "mid" or "n". */
+      @Param({"1", "mid", "n"})
+      public String k;
+
+      /** the k-selection value. */
+      int kth;
+
+      /**
+       * Turns k into a k-selection value.
+       *
+       */
+      @Setup(Level.Trial)
+      public void pick() {
+         kth = k.equals("1") ? 1
+            : k.equals("mid") ? (distinct + 1) / 2
+            : distinct;
+      }
+   }
+
+   /**
+    * Sequential kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public Integer kminSequential(KData d) {
+      return Selector.kmin(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Parallel kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public Integer kminParallel(KData d) {
+      return Selector.parallelKmin(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Indexed kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public Integer kminIndexed(KData d) {
+      return Selector.kmin(d.sorted, d.kth, d.comp);
+   }
+
+   /**
+    * Primitive kmin.
+    *
+    * @param d the data
+    * @return the kth minimum
+    */
+   @Benchmark
+   public long kminPrimitive(KData d) {
+      return PrimitiveSelector.kmin(d.longs, d.kth);
+   }
+
+   /**
+    * Sequential kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public Integer kmaxSequential(KData d) {
+      return Selector.kmax(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Parallel kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public Integer kmaxParallel(KData d) {
+      return Selector.parallelKmax(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Indexed kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public Integer kmaxIndexed(KData d) {
+      return Selector.kmax(d.sorted, d.kth, d.comp);
+   }
+
+   /**
+    * Primitive kmax.
+    *
+    * @param d the data
+    * @return the kth maximum
+    */
+   @Benchmark
+   public long kmaxPrimitive(KData d) {
+      return PrimitiveSelector.kmax(d.longs, d.kth);
+   }
+
+   /**
+    * Sequential bottomK.
+    *
+    * @param d the data
+    * @return the k smallest values
+    */
+   @Benchmark
+   public List<Integer> bottomKSequential(KData d) {
+      return Selector.bottomK(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Indexed bottomK.
+    *
+    * @param d the data
+    * @return the k smallest values
+    */
+   @Benchmark
+   public List<Integer> bottomKIndexed(KData d) {
+      return Selector.bottomK(d.sorted, d.kth, d.comp);
+   }
+
+   /**
+    * Sequential topK.
+    *
+    * @param d the data
+    * @return the k largest values
+    */
+   @Benchmark
+   public List<Integer> topKSequential(KData d) {
+      return Selector.topK(d.list, d.kth, d.comp);
+   }
+
+   /**
+    * Indexed topK.
+    *
+    * @param d the data
+    * @return the k largest values
+    */
+   @Benchmark
+   public List<Integer> topKIndexed(KData d) {
+      return Selector.topK(d.sorted, d.kth, d.comp);
+   }
+
+}
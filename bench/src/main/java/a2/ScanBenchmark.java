@@ -0,0 +1,254 @@
+package a2;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ScanBenchmark.java.
+ * Throughput of the A2 operations that take no k: min, max, range,
+ * ceiling and floor, each in its sequential (Selector on a List),
+ * parallel (Selector.parallel*), indexed (Selector on a List flagged with
+ * Selector.sorted) and primitive (PrimitiveSelector on a long[]) variant.
+ * Every method is its own benchmark, run in its own forked JVM. Run with
+ * -prof gc for the allocation rate.
+ *
+ * @author  Anastasiia Kotova (azk0108@auburn.edu)
+ * @version 09/07/2019
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ScanBenchmark {
+
+   /**
+    * Sequential minimum.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public Integer minSequential(Data d) {
+      return Selector.min(d.list, d.comp);
+   }
+
+   /**
+    * Parallel minimum.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public Integer minParallel(Data d) {
+      return Selector.parallelMin(d.list, d.comp);
+   }
+
+   /**
+    * Indexed minimum.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public Integer minIndexed(Data d) {
+      return Selector.min(d.sorted, d.comp);
+   }
+
+   /**
+    * Primitive minimum.
+    *
+    * @param d the data
+    * @return the minimum
+    */
+   @Benchmark
+   public long minPrimitive(Data d) {
+      return PrimitiveSelector.min(d.longs);
+   }
+
+   /**
+    * Sequential maximum.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public Integer maxSequential(Data d) {
+      return Selector.max(d.list, d.comp);
+   }
+
+   /**
+    * Parallel maximum.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public Integer maxParallel(Data d) {
+      return Selector.parallelMax(d.list, d.comp);
+   }
+
+   /**
+    * Indexed maximum.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public Integer maxIndexed(Data d) {
+      return Selector.max(d.sorted, d.comp);
+   }
+
+   /**
+    * Primitive maximum.
+    *
+    * @param d the data
+    * @return the maximum
+    */
+   @Benchmark
+   public long maxPrimitive(Data d) {
+      return PrimitiveSelector.max(d.longs);
+   }
+
+   /**
+    * Sequential range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public Collection<Integer> rangeSequential(Data d) {
+      return Selector.range(d.list, d.low, d.high, d.comp);
+   }
+
+   /**
+    * Parallel range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public Collection<Integer> rangeParallel(Data d) {
+      return Selector.parallelRange(d.list, d.low, d.high, d.comp);
+   }
+
+   /**
+    * Indexed range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public Collection<Integer> rangeIndexed(Data d) {
+      return Selector.range(d.sorted, d.low, d.high, d.comp);
+   }
+
+   /**
+    * Primitive range over the middle half of the distinct values.
+    *
+    * @param d the data
+    * @return the values in range
+    */
+   @Benchmark
+   public long[] rangePrimitive(Data d) {
+      return PrimitiveSelector.range(d.longs, d.low, d.high);
+   }
+
+   /**
+    * Sequential ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public Integer ceilingSequential(Data d) {
+      return Selector.ceiling(d.list, d.key, d.comp);
+   }
+
+   /**
+    * Parallel ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public Integer ceilingParallel(Data d) {
+      return Selector.parallelCeiling(d.list, d.key, d.comp);
+   }
+
+   /**
+    * Indexed ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public Integer ceilingIndexed(Data d) {
+      return Selector.ceiling(d.sorted, d.key, d.comp);
+   }
+
+   /**
+    * Primitive ceiling of the median value.
+    *
+    * @param d the data
+    * @return the ceiling
+    */
+   @Benchmark
+   public long ceilingPrimitive(Data d) {
+      return PrimitiveSelector.ceiling(d.longs, d.key);
+   }
+
+   /**
+    * Sequential floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public Integer floorSequential(Data d) {
+      return Selector.floor(d.list, d.key, d.comp);
+   }
+
+   /**
+    * Parallel floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public Integer floorParallel(Data d) {
+      return Selector.parallelFloor(d.list, d.key, d.comp);
+   }
+
+   /**
+    * Indexed floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public Integer floorIndexed(Data d) {
+      return Selector.floor(d.sorted, d.key, d.comp);
+   }
+
+   /**
+    * Primitive floor of the median value.
+    *
+    * @param d the data
+    * @return the floor
+    */
+   @Benchmark
+   public long floorPrimitive(Data d) {
+      return PrimitiveSelector.floor(d.longs, d.key);
+   }
+
+}